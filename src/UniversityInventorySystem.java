@@ -1,30 +1,145 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import javax.management.JMException;
 
 import exceptions.InventoryException;
+import managers.CommandProcessor;
+import managers.DepartmentIndex;
+import managers.ImportReport;
+import managers.InventoryContext;
+import managers.InventoryImporter;
+import managers.InventoryJournal;
 import managers.InventoryManager;
+import managers.InventoryMetrics;
 import managers.InventoryReports;
+import managers.InventoryServer;
+import managers.InventorySnapshot;
+import managers.LoanLedger;
+import managers.MaintenanceScheduler;
+import managers.OverdueLedger;
+import managers.ReportSink;
+import managers.StaffDirectory;
 import models.*;
 
 public class UniversityInventorySystem {
 
-    // Arrays (matches assignment style)
-    private static final int MAX_ITEMS = 100;
-    private static final int MAX_STAFF = 50;
+    // Arrays (matches assignment style); items grows as needed
+    private static final int INITIAL_ITEMS = 100;
+    // Reports over more items than this are split across cores (fork-join)
+    private static final int PARALLEL_REPORT_THRESHOLD = 16_384;
+    // Maintenance plan: 30 days ahead, 3 jobs per category per day unless configured otherwise
+    private static final int MAINTENANCE_HORIZON_DAYS = 30;
+    private static final int MAINTENANCE_CAPACITY = 3;
 
-    private static InventoryItem[] items = new InventoryItem[MAX_ITEMS];
+    private static InventoryItem[] items = new InventoryItem[INITIAL_ITEMS];
     private static int itemCount = 0;
+    // IDs of the Furniture / LabEquipment in items (Equipment IDs are checked in the manager)
+    private static Set<String> otherItemIds = new HashSet<>();
+
+    // Department -> staff, kept current as staff register or change department
+    private static DepartmentIndex departments = new DepartmentIndex();
+    // Staff by ID and by email (IDs and emails are unique)
+    private static StaffDirectory staffDirectory = new StaffDirectory(departments);
+    // Maintenance plan, updated as items are added or serviced
+    private static MaintenanceScheduler scheduler =
+            new MaintenanceScheduler(LocalDate.now(), MAINTENANCE_HORIZON_DAYS, MAINTENANCE_CAPACITY);
+
+    private static InventoryManager manager = new InventoryManager(INITIAL_ITEMS);
+    // Due dates for assignments (14-day loans), checked for overdue items every minute
+    private static LoanLedger loans = new LoanLedger();
+    // Operation latencies and rejection counts (also published over JMX)
+    private static InventoryMetrics metrics = new InventoryMetrics();
+
+    // Write-ahead journal: every change is saved here and replayed on the next start
+    // (continued in inventory.journal.<position> files from each snapshot on)
+    private static final Path JOURNAL_FILE = Paths.get("inventory.journal");
+    private static final long JOURNAL_FLUSH_MILLIS = 2;
+    private static InventoryJournal journal;
+
+    // Snapshot of the whole system, so startup only replays the journal written after it
+    private static final Path SNAPSHOT_FILE = Paths.get("inventory.snapshot");
+    private static CompletableFuture<Void> pendingSnapshot;
+    // Saved changes that no longer apply are listed at startup, up to this many
+    private static final int MAX_SKIPPED_SHOWN = 10;
 
-    private static StaffMember[] staffMembers = new StaffMember[MAX_STAFF];
-    private static int staffCount = 0;
+    public static void main(String[] args) {
+        // Optional: --import <file.csv> bulk-loads an asset register before the menu starts
+        // Optional: --serve <port> runs headless, serving the line protocol on localhost
+        // Optional: --batch <file|-> runs protocol commands from a file (- = stdin), results to stdout
+        // Optional: --limit <ROLE>=<n> (repeatable) overrides a role's assignment limit
+        Path importPath = null;
+        int servePort = -1;
+        String batchSource = null;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (args[i].equals("--import")) {
+                importPath = Paths.get(args[i + 1]);
+            } else if (args[i].equals("--serve")) {
+                servePort = Integer.parseInt(args[i + 1]);
+            } else if (args[i].equals("--batch")) {
+                batchSource = args[i + 1];
+            } else if (args[i].equals("--limit")) {
+                setAssignmentLimit(args[i + 1]);
+            }
+        }
 
-    private static InventoryManager manager = new InventoryManager(MAX_ITEMS);
+        // Batch results own stdout; every other message goes to stderr
+        PrintStream results = System.out;
+        if (batchSource != null) System.setOut(System.err);
 
-    public static void main(String[] args) {
         Scanner sc = new Scanner(System.in);
 
-        // Preload 1 Furniture + 1 LabEquipment (polymorphism demonstration)
-        addItemToSystem(new Furniture("F-001", "Office Chair", true, "B12", "Wood"));
-        addItemToSystem(new LabEquipment("L-001", "Microscope", true, "Chem Lab", "2026-01-15"));
+        // Loans first, so restored assignments get a due date too
+        manager.setLoanLedger(loans);
+        loans.setOverdueListener(loan -> System.out.println("\n[overdue] " + loan.getEquipment().getAssetId()
+                + " held by " + loan.getStaff().getName() + " was due " + loan.getDueAt()));
+        loans.startTicker();
+
+        // The maintenance plan follows warranty / category changes and removals
+        manager.setChangeListener(scheduler);
+
+        // Restore the last snapshot (if any) + the journal written after it
+        // A batch is made durable once at the end instead of after every command
+        restoreState(batchSource == null);
+
+        // After the restore, so the metrics only show this session's operations
+        manager.setMetrics(metrics);
+        try {
+            metrics.registerMBean();
+        } catch (JMException e) {
+            System.out.println("Metrics are not available over JMX: " + e.getMessage());
+        }
+
+        if (importPath != null) {
+            importFile(importPath);
+        }
+        if (batchSource != null) {
+            runBatch(batchSource, results);
+            saveAndClose();
+            return;
+        }
+        if (servePort >= 0) {
+            serve(servePort);
+            return;
+        }
 
         boolean running = true;
 
@@ -84,6 +199,7 @@ public class UniversityInventorySystem {
         }
 
         sc.close();
+        saveAndClose();
     }
 
     // -------------------- MENU ACTIONS --------------------
@@ -106,9 +222,13 @@ public class UniversityInventorySystem {
 
         Equipment eq = new Equipment(assetId, name, true, brand, warrantyMonths, category);
 
-        // Add to system arrays + manager inventory
+        // Add to manager inventory (rejects duplicate asset IDs) + system arrays
+        if (!manager.addEquipmentToInventory(eq)) {
+            System.out.println("Could not add equipment: asset ID already exists.");
+            return;
+        }
         addItemToSystem(eq);
-        manager.addEquipmentToInventory(eq);
+        scheduler.add(eq);
 
         System.out.println("Equipment added: " + eq);
     }
@@ -126,14 +246,22 @@ public class UniversityInventorySystem {
         System.out.print("Department: ");
         String dept = sc.nextLine().trim();
 
+        System.out.print("Role (STAFF / RESEARCH_LEAD, blank = STAFF): ");
+        String roleName = sc.nextLine().trim();
+        StaffRole role = roleName.isEmpty() ? StaffRole.STAFF : StaffRole.parse(roleName);
+        if (role == null) {
+            System.out.println("Unknown role: " + roleName);
+            return;
+        }
+
         StaffMember s = new StaffMember(staffId, name, email);
         s.setDepartment(dept); // requires the small patch in StaffMember
+        s.setRole(role);
 
-        if (staffCount < staffMembers.length) {
-            staffMembers[staffCount++] = s;
+        if (addStaff(s)) {
             System.out.println("Staff registered: " + s.getName() + " (" + s.getStaffId() + ")");
         } else {
-            System.out.println("Staff list full. Cannot register more.");
+            System.out.println("Staff ID or email already registered: " + s.getStaffId() + " / " + s.getEmail());
         }
     }
 
@@ -144,7 +272,7 @@ public class UniversityInventorySystem {
         System.out.print("Enter Equipment Asset ID: ");
         String assetId = sc.nextLine().trim();
 
-        StaffMember staff = findStaffById(staffId);
+        StaffMember staff = staffDirectory.findById(staffId);
         if (staff == null) {
             throw new InventoryException.StaffMemberNotFoundException("Staff ID not found: " + staffId);
         }
@@ -165,7 +293,7 @@ public class UniversityInventorySystem {
         System.out.print("Enter Equipment Asset ID to return: ");
         String assetId = sc.nextLine().trim();
 
-        StaffMember staff = findStaffById(staffId);
+        StaffMember staff = staffDirectory.findById(staffId);
         if (staff == null) {
             throw new InventoryException.StaffMemberNotFoundException("Staff ID not found: " + staffId);
         }
@@ -218,67 +346,342 @@ public class UniversityInventorySystem {
     }
 
     private static void reportsMenu(Scanner sc) {
-        InventoryReports reports = new InventoryReports(items, itemCount, staffMembers, staffCount);
+        InventoryReports reports = newReports();
 
         System.out.println("\n--- REPORTS MENU ---");
         System.out.println("1. Inventory report");
         System.out.println("2. Expired warranties");
         System.out.println("3. Assignments by department");
         System.out.println("4. Utilisation rate");
-        System.out.println("5. Maintenance schedule");
+        System.out.println("5. Maintenance plan");
+        System.out.println("6. Assignments for one department");
+        System.out.println("7. Mark maintenance done");
+        System.out.println("8. Maintenance fees from an overdue ledger (CSV: assetId,daysOverdue)");
+        System.out.println("9. Overdue loans");
+        System.out.println("10. Maintenance fees for overdue loans");
+        System.out.println("11. Operation metrics");
         System.out.print("Choose: ");
 
         int option = readInt(sc);
+        if (option < 1 || option > 11) {
+            System.out.println("Invalid report option.");
+            return;
+        }
 
-        switch (option) {
-            case 1:
-                reports.generateInventoryReport();
-                break;
-            case 2:
-                reports.findExpiredWarranties();
-                break;
-            case 3:
-                reports.displayAssignmentsByDepartment();
-                break;
-            case 4:
-                reports.calculateUtilisationRate();
-                break;
-            case 5:
-                reports.generateMaintenanceSchedule();
-                break;
-            default:
-                System.out.println("Invalid report option.");
+        if (option == 7) {
+            System.out.print("Item ID: ");
+            String id = sc.nextLine().trim();
+            System.out.println(scheduler.serviced(id)
+                    ? "Maintenance recorded for " + id + "."
+                    : "No maintenance scheduled for " + id + ".");
+            return;
+        }
+
+        String department = null;
+        if (option == 6) {
+            System.out.print("Department: ");
+            department = sc.nextLine().trim();
+        }
+
+        OverdueLedger ledger = null;
+        if (option == 8) {
+            System.out.print("Ledger file: ");
+            int[] skipped = new int[1];
+            try {
+                ledger = OverdueLedger.read(Paths.get(sc.nextLine().trim()), skipped);
+            } catch (IOException e) {
+                System.out.println("Could not read ledger: " + e.getMessage());
+                return;
+            }
+            if (skipped[0] > 0) System.out.println("Skipped " + skipped[0] + " unreadable ledger lines.");
+        }
+        if (option == 10) {
+            loans.tick();
+            ledger = loans.toOverdueLedger();
+        }
+
+        System.out.print("Output (1 = screen, 2 = CSV file, 3 = JSON file): ");
+        int format = readInt(sc);
+
+        Path file = null;
+        ReportSink sink;
+        try {
+            if (format == 2 || format == 3) {
+                System.out.print("File name: ");
+                file = Paths.get(sc.nextLine().trim());
+                Writer out = Files.newBufferedWriter(file);
+                sink = (format == 2) ? ReportSink.csv(out) : ReportSink.json(out);
+            } else {
+                sink = ReportSink.text(System.out);
+            }
+
+            try {
+                switch (option) {
+                    case 1:
+                        reports.generateInventoryReport(sink);
+                        break;
+                    case 2:
+                        reports.findExpiredWarranties(sink);
+                        break;
+                    case 3:
+                        reports.displayAssignmentsByDepartment(sink);
+                        break;
+                    case 4:
+                        reports.calculateUtilisationRate(sink);
+                        break;
+                    case 5:
+                        reports.generateMaintenancePlan(sink);
+                        break;
+                    case 6:
+                        reports.displayAssignmentsForDepartment(sink, department);
+                        break;
+                    case 8:
+                    case 10:
+                        reports.generateFeeReport(sink, ledger);
+                        break;
+                    case 9:
+                        reports.generateOverdueLoansReport(sink);
+                        break;
+                    case 11:
+                        reports.generateMetricsReport(sink);
+                        break;
+                }
+            } finally {
+                if (file != null) sink.close(); // never close System.out
+            }
+
+            if (file != null) System.out.println("Report written to " + file);
+        } catch (IOException e) {
+            System.out.println("Could not write report: " + e.getMessage());
+        }
+    }
+
+    // -------------------- SERVER MODE --------------------
+
+    // Serves the line protocol until the process is stopped, then saves like a normal exit
+    private static void serve(int port) {
+        CommandProcessor processor = new CommandProcessor(manager, new SystemContext());
+        InventoryServer server;
+        try {
+            server = new InventoryServer(processor, port);
+        } catch (IOException e) {
+            System.out.println("Could not start server: " + e.getMessage());
+            saveAndClose();
+            return;
+        }
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.close();
+            } catch (IOException ignored) {
+                // exiting anyway
+            }
+            saveAndClose();
+        }));
+
+        server.start();
+        System.out.println("Serving on localhost:" + server.getPort() + " (stop with Ctrl+C)");
+        try {
+            server.awaitClose();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // -------------------- BATCH MODE --------------------
+
+    // Runs every command from the file (or stdin for "-") back to back, one response each
+    // Uses the server's protocol (see CommandProcessor); blank lines and # comments are skipped.
+    private static void runBatch(String source, PrintStream results) {
+        CommandProcessor processor = new CommandProcessor(manager, new SystemContext());
+        long start = System.nanoTime();
+        long commandsBefore = processor.getCommandCount();
+
+        try (BufferedReader in = source.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), 1 << 16)
+                : Files.newBufferedReader(Paths.get(source), StandardCharsets.UTF_8)) {
+            Writer out = new BufferedWriter(new OutputStreamWriter(results, StandardCharsets.UTF_8), 1 << 16);
+            processor.runBatch(in, out);
+        } catch (IOException e) {
+            System.out.println("Batch failed: " + e.getMessage());
+        }
+
+        long commands = processor.getCommandCount() - commandsBefore;
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println(String.format("Batch: %d commands, %d errors in %.2f s (%.0f/s)",
+                commands, processor.getErrorCount(), seconds, commands / Math.max(seconds, 1e-9)));
+    }
+
+    // The system arrays as seen by CommandProcessor (locked: every connection shares them)
+    private static class SystemContext implements InventoryContext {
+        @Override
+        public StaffMember findStaff(int staffId) {
+            return staffDirectory.findById(staffId);
+        }
+
+        @Override
+        public StaffMember findStaffByEmail(String email) {
+            return staffDirectory.findByEmail(email);
+        }
+
+        @Override
+        public boolean registerStaff(StaffMember staff) {
+            return addStaff(staff);
+        }
+
+        @Override
+        public void equipmentAdded(Equipment equipment) {
+            addItemToSystem(equipment);
+            scheduler.add(equipment);
+        }
+
+        @Override
+        public InventoryReports reports() {
+            return newReports();
         }
     }
 
     // -------------------- HELPERS --------------------
 
-    private static void addItemToSystem(InventoryItem item) {
-        if (itemCount < items.length) {
-            items[itemCount++] = item;
+    // Loads the snapshot, replays the journal tail after it, then keeps logging to the journal
+    private static void restoreState(boolean syncCommit) {
+        Map<Integer, StaffMember> restoredStaff = new LinkedHashMap<>();
+        List<InventoryItem> otherItems = new ArrayList<>();
+        List<String> skipped = new ArrayList<>();
+        long journalStart = 0;
+
+        try {
+            if (Files.exists(SNAPSHOT_FILE)) {
+                InventorySnapshot snapshot = InventorySnapshot.open(SNAPSHOT_FILE);
+                snapshot.restore(manager, restoredStaff, otherItems, skipped);
+                journalStart = snapshot.getJournalPosition();
+            } else {
+                // First run: preload 1 Furniture + 1 LabEquipment (polymorphism demonstration)
+                otherItems.add(new Furniture("F-001", "Office Chair", true, "B12", "Wood"));
+                otherItems.add(new LabEquipment("L-001", "Microscope", true, "Chem Lab", "2026-01-15"));
+            }
+
+            journal = InventoryJournal.open(JOURNAL_FILE, syncCommit, JOURNAL_FLUSH_MILLIS);
+            journal.replayInto(manager, restoredStaff, otherItems, journalStart, skipped);
+        } catch (IOException e) {
+            System.out.println("Saved state unavailable, changes will not be saved: " + e.getMessage());
+            journal = null;
+        }
+
+        for (InventoryItem item : otherItems) {
+            addItemToSystem(item);
+        }
+        Equipment[] restoredItems = manager.getAllEquipment();
+        for (Equipment eq : restoredItems) {
+            addItemToSystem(eq);
+        }
+        scheduler.addAll(items, itemCount);
+        for (StaffMember s : restoredStaff.values()) {
+            staffDirectory.restore(s);
+        }
+
+        if (journal != null) {
+            manager.setJournal(journal);
+            staffDirectory.setJournal(journal);
+            // Compact in the background: the menu is usable while the snapshot is written
+            synchronized (UniversityInventorySystem.class) { // holds items and addOtherItem off
+                pendingSnapshot = InventorySnapshot.writeInBackground(SNAPSHOT_FILE, manager, staffDirectory, items, itemCount);
+            }
+        }
+
+        if (restoredItems.length > 0 || staffDirectory.size() > 0) {
+            System.out.println("Restored " + restoredItems.length + " equipment and " + staffDirectory.size() + " staff.");
+        }
+        if (!skipped.isEmpty()) {
+            System.out.println("Restore skipped " + skipped.size() + " saved change(s) that no longer apply:");
+            for (int i = 0; i < skipped.size() && i < MAX_SKIPPED_SHOWN; i++) {
+                System.out.println("  " + skipped.get(i));
+            }
         }
     }
 
-    private static StaffMember findStaffById(int staffId) {
-        for (int i = 0; i < staffCount; i++) {
-            if (staffMembers[i] != null && staffMembers[i].getStaffId() == staffId) {
-                return staffMembers[i];
+    // "RESEARCH_LEAD=40": a role's assignment limit (bad specs are reported and ignored)
+    private static void setAssignmentLimit(String spec) {
+        int eq = spec.indexOf('=');
+        StaffRole role = (eq < 0) ? null : StaffRole.parse(spec.substring(0, eq));
+        try {
+            if (role == null) throw new IllegalArgumentException("expected <ROLE>=<n>");
+            manager.setAssignmentLimit(role, Integer.parseInt(spec.substring(eq + 1).trim()));
+        } catch (IllegalArgumentException e) {
+            System.out.println("Ignoring --limit " + spec + ": " + e.getMessage());
+        }
+    }
+
+    // Bulk CSV import (see InventoryImporter for the row format)
+    private static void importFile(Path file) {
+        List<InventoryItem> imported = new ArrayList<>();
+        try {
+            InventoryImporter importer = new InventoryImporter(manager);
+            importer.setItemStore(UniversityInventorySystem::addOtherItem);
+            ImportReport report = importer.importFile(file, imported);
+            if (journal != null) journal.awaitDurable(journal.position()); // one wait for the whole file
+            for (InventoryItem item : imported) {
+                if (item instanceof Equipment) addItemToSystem(item); // the others are in already
+                scheduler.add(item);
+            }
+            System.out.println(report + String.format(" in %.1f ms", report.getElapsedNanos() / 1e6));
+            for (String error : report.getErrors()) {
+                System.out.println("  " + error);
             }
+        } catch (IOException e) {
+            System.out.println("Import failed: " + e.getMessage());
         }
-        return null;
     }
 
-    private static Equipment findEquipmentByAssetId(String assetId) {
-        for (int i = 0; i < itemCount; i++) {
-            InventoryItem it = items[i];
-            if (it instanceof Equipment) {
-                Equipment eq = (Equipment) it;
-                if (eq.getAssetId() != null && eq.getAssetId().equals(assetId)) {
-                    return eq;
-                }
+    // Final snapshot on exit, so the next start has no journal tail to replay
+    private static void saveAndClose() {
+        if (journal == null) return;
+        try {
+            if (pendingSnapshot != null) pendingSnapshot.exceptionally(e -> null).join();
+            synchronized (UniversityInventorySystem.class) {
+                InventorySnapshot.write(SNAPSHOT_FILE, manager, staffDirectory, items, itemCount);
             }
+            journal.close();
+        } catch (IOException e) {
+            System.out.println("Could not save inventory: " + e.getMessage());
+        }
+    }
+
+    // The item array is shared with server connections, so every access is synchronized
+    private static synchronized void addItemToSystem(InventoryItem item) {
+        if (itemCount == items.length) {
+            items = Arrays.copyOf(items, items.length * 2);
+        }
+        items[itemCount++] = item;
+        if (!(item instanceof Equipment)) otherItemIds.add(item.getId());
+    }
+
+    // A new Furniture / LabEquipment item: false if any item already has its ID
+    // Journaled here; the caller waits for it to be durable
+    private static synchronized boolean addOtherItem(InventoryItem item) {
+        if (otherItemIds.contains(item.getId()) || manager.findEquipmentByAssetId(item.getId()) != null) {
+            return false;
         }
-        return null;
+        addItemToSystem(item);
+        if (journal != null) journal.logItem(item);
+        return true;
+    }
+
+    // False if the staff ID or email is already registered
+    private static boolean addStaff(StaffMember s) {
+        return staffDirectory.register(s); // journaled by the directory
+    }
+
+    private static synchronized InventoryReports newReports() {
+        StaffMember[] staff = staffDirectory.toArray();
+        InventoryReports reports = new InventoryReports(items, itemCount, staff, staff.length, manager, departments);
+        reports.setParallelThreshold(PARALLEL_REPORT_THRESHOLD);
+        reports.setMaintenanceScheduler(scheduler);
+        return reports;
+    }
+
+    private static Equipment findEquipmentByAssetId(String assetId) {
+        return manager.findEquipmentByAssetId(assetId); // O(1) hash index lookup
     }
 
     private static void printEquipmentResults(Equipment[] results) {
@@ -0,0 +1,212 @@
+package benchmarks;
+
+import managers.AssignmentResult;
+import managers.InventoryJournal;
+import managers.InventoryManager;
+import managers.Loan;
+import managers.LoanLedger;
+import models.Equipment;
+import models.StaffMember;
+import models.StaffRole;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+// Multi-threaded assign / return stress check for InventoryManager (the tree has no test dir)
+// Desk threads assign and return random items for random staff, single and in batches, while
+// one thread keeps renumbering staff IDs and moving items between categories, the two changes
+// that touch the staff locks from the side. When every thread has stopped it checks:
+//   - nobody holds more than their role's limit and no item is held twice
+//   - an item is unavailable exactly when somebody holds it
+//   - the category counters and the loan ledger agree with the holders
+// Exits with status 1 and lists the broken invariants if any check fails.
+// With --journal every assignment and return is also logged (no fsync wait), as in the server,
+// so runs at different --threads show how far the desks scale: the journal lock is the one
+// monitor every desk still passes through, for the copy of one record.
+//
+// Usage: java benchmarks.AssignmentStress [--threads 8] [--items 2000] [--staff 200] [--ops 200000]
+//                                         [--journal stress.journal]
+// --ops is per desk thread; the journal file is deleted first.
+public class AssignmentStress {
+
+    private static final String[] CATEGORIES = {"IT", "LAB", "AV"};
+    private static final int MAX_FAILURES_SHOWN = 20;
+
+    public static void main(String[] args) throws Exception {
+        int threads = 8;
+        int itemCount = 2000;
+        int staffCount = 200;
+        int ops = 200_000;
+        Path journalFile = null;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--threads": threads = Integer.parseInt(value); break;
+                case "--items": itemCount = Integer.parseInt(value); break;
+                case "--staff": staffCount = Integer.parseInt(value); break;
+                case "--ops": ops = Integer.parseInt(value); break;
+                case "--journal": journalFile = Paths.get(value); break;
+                default:
+                    System.out.println("Unknown option: " + args[i]);
+                    return;
+            }
+        }
+
+        InventoryManager manager = new InventoryManager(itemCount);
+        LoanLedger loans = new LoanLedger();
+        manager.setLoanLedger(loans);
+        InventoryJournal journal = null;
+        if (journalFile != null) {
+            Files.deleteIfExists(journalFile);
+            journal = InventoryJournal.open(journalFile, false, 5);
+            manager.setJournal(journal);
+        }
+
+        Equipment[] items = new Equipment[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            items[i] = new Equipment("ST-" + i, "Stress item " + i, true, "Brand", 12, CATEGORIES[i % CATEGORIES.length]);
+            manager.addEquipmentToInventory(items[i]);
+        }
+        StaffMember[] staff = new StaffMember[staffCount];
+        for (int i = 0; i < staffCount; i++) {
+            staff[i] = new StaffMember(i, "Stress staff " + i, "stress" + i + "@example.org");
+            staff[i].setRole(i % 10 == 0 ? StaffRole.RESEARCH_LEAD : StaffRole.STAFF);
+        }
+
+        LongAdder assigned = new LongAdder();
+        LongAdder returned = new LongAdder();
+        AtomicBoolean desksDone = new AtomicBoolean();
+        CountDownLatch go = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        int opsPerThread = ops;
+
+        for (int t = 0; t < threads; t++) {
+            Thread desk = new Thread(() -> {
+                try {
+                    go.await();
+                    runDesk(manager, items, staff, opsPerThread, assigned, returned);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }, "desk-" + t);
+            desk.start();
+        }
+
+        Thread changer = new Thread(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int nextId = staff.length;
+            while (!desksDone.get()) {
+                staff[random.nextInt(staff.length)].setStaffId(nextId++);
+                items[random.nextInt(items.length)].setCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+                Thread.yield();
+            }
+        }, "changer");
+
+        long start = System.nanoTime();
+        changer.start();
+        go.countDown();
+        done.await();
+        desksDone.set(true);
+        changer.join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%d threads x %d ops in %.2f s (%.0f ops/s): %d assigned, %d returned%n",
+                threads, ops, seconds, threads * (double) ops / seconds, assigned.sum(), returned.sum());
+        if (journal != null) journal.close();
+
+        List<String> failures = check(manager, loans, items, staff);
+        if (failures.isEmpty()) {
+            System.out.println("OK: all invariants hold");
+            return;
+        }
+        System.out.println(failures.size() + " invariant(s) broken:");
+        for (int i = 0; i < failures.size() && i < MAX_FAILURES_SHOWN; i++) {
+            System.out.println("  " + failures.get(i));
+        }
+        System.exit(1);
+    }
+
+    private static void runDesk(InventoryManager manager, Equipment[] items, StaffMember[] staff, int ops,
+                                LongAdder assigned, LongAdder returned) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < ops; i++) {
+            StaffMember s = staff[random.nextInt(staff.length)];
+            int op = random.nextInt(10);
+            if (op < 5) {
+                if (manager.tryAssign(s, items[random.nextInt(items.length)]).isSuccess()) assigned.increment();
+            } else if (op < 9) {
+                Equipment[] held = s.getAssignedEquipment();
+                String assetId = (held.length > 0 && random.nextBoolean())
+                        ? held[random.nextInt(held.length)].getAssetId()
+                        : items[random.nextInt(items.length)].getAssetId();
+                if (manager.tryReturn(s, assetId).isSuccess()) returned.increment();
+            } else {
+                String[] kit = new String[3];
+                for (int k = 0; k < kit.length; k++) kit[k] = items[random.nextInt(items.length)].getAssetId();
+                boolean assign = random.nextBoolean();
+                for (AssignmentResult r : assign ? manager.assignBatch(s, kit) : manager.returnBatch(s, kit)) {
+                    if (r.isSuccess()) (assign ? assigned : returned).increment();
+                }
+            }
+        }
+    }
+
+    // Every invariant that does not hold once all threads have stopped (empty = all good)
+    private static List<String> check(InventoryManager manager, LoanLedger loans, Equipment[] items,
+                                      StaffMember[] staff) {
+        List<String> failures = new ArrayList<>();
+        Map<Equipment, StaffMember> holders = new IdentityHashMap<>();
+
+        for (StaffMember s : staff) {
+            Equipment[] held = s.getAssignedEquipment();
+            int limit = manager.getAssignmentLimit(s.getRole());
+            if (held.length > limit) {
+                failures.add("staff " + s.getStaffId() + " holds " + held.length + " items (limit " + limit + ")");
+            }
+            for (Equipment eq : held) {
+                StaffMember other = holders.put(eq, s);
+                if (other != null) {
+                    failures.add(eq.getAssetId() + " is held by staff " + other.getStaffId() + " and " + s.getStaffId());
+                }
+            }
+        }
+
+        for (Equipment eq : items) {
+            StaffMember holder = holders.get(eq);
+            if (holder != null && eq.isAvailable()) {
+                failures.add(eq.getAssetId() + " is held by staff " + holder.getStaffId() + " but marked available");
+            } else if (holder == null && !eq.isAvailable()) {
+                failures.add(eq.getAssetId() + " is held by nobody but marked assigned");
+            }
+
+            Loan loan = loans.getLoan(eq);
+            StaffMember borrower = (loan != null) ? loan.getStaff() : null;
+            if (borrower != holder) {
+                failures.add(eq.getAssetId() + " has a loan for " + (borrower == null ? "nobody" : "staff " + borrower.getStaffId())
+                        + " but is held by " + (holder == null ? "nobody" : "staff " + holder.getStaffId()));
+            }
+        }
+
+        int countedAssigned = 0;
+        for (String category : CATEGORIES) countedAssigned += manager.countAssignedByCategory(category);
+        if (countedAssigned != holders.size()) {
+            failures.add("category counters show " + countedAssigned + " assigned, holders show " + holders.size());
+        }
+        if (loans.getOpenCount() != holders.size()) {
+            failures.add("loan ledger has " + loans.getOpenCount() + " open loans, holders show " + holders.size());
+        }
+        return failures;
+    }
+}
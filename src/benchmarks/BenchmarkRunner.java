@@ -0,0 +1,161 @@
+package benchmarks;
+
+import managers.ReportSink;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+
+// Minimal measurement loop (the tree has no build file, so no JMH)
+// Each benchmark runs for a warmup period, then for a measurement period in which every
+// operation is timed with System.nanoTime. Latencies go into a fixed-size reservoir sample,
+// so memory stays flat however many operations run. Allocation is read from the JVM's
+// per-thread allocation counter and GC activity from the collector MXBeans.
+class BenchmarkRunner {
+
+    interface Operation {
+        // i counts up from 0; return something derived from the work so it is not optimised away
+        long run(int i) throws Exception;
+    }
+
+    static class Result {
+        String name;
+        int items;
+        long ops;
+        double opsPerSecond;
+        long p50, p90, p99, p999, max;      // nanoseconds
+        double bytesPerOp;                  // -1 if the JVM cannot count allocations
+        long gcCount;
+        long gcMillis;
+    }
+
+    private static final int RESERVOIR = 1 << 16;
+
+    private final long warmupNanos;
+    private final long measureNanos;
+    private final long[] samples = new long[RESERVOIR];
+    private long blackhole;
+
+    BenchmarkRunner(long warmupMillis, long measureMillis) {
+        this.warmupNanos = warmupMillis * 1_000_000L;
+        this.measureNanos = measureMillis * 1_000_000L;
+    }
+
+    Result run(String name, int items, Operation op) throws Exception {
+        int i = 0;
+        long end = System.nanoTime() + warmupNanos;
+        while (System.nanoTime() < end) blackhole += op.run(i++);
+
+        System.gc();
+        long gcCountBefore = gcCount();
+        long gcTimeBefore = gcMillis();
+        long allocatedBefore = allocatedBytes();
+
+        long ops = 0;
+        long seed = 0x9E3779B97F4A7C15L;
+        long start = System.nanoTime();
+        end = start + measureNanos;
+        long now = start;
+        while (now < end) {
+            long t0 = System.nanoTime();
+            blackhole += op.run(i++);
+            now = System.nanoTime();
+            long latency = now - t0;
+
+            // Reservoir sampling: every operation has the same chance of being kept
+            if (ops < RESERVOIR) {
+                samples[(int) ops] = latency;
+            } else {
+                seed ^= seed << 13;
+                seed ^= seed >>> 7;
+                seed ^= seed << 17;
+                long slot = Math.floorMod(seed, ops + 1);
+                if (slot < RESERVOIR) samples[(int) slot] = latency;
+            }
+            ops++;
+        }
+        long elapsed = now - start;
+
+        long allocatedAfter = allocatedBytes();
+        Result r = new Result();
+        r.name = name;
+        r.items = items;
+        r.ops = ops;
+        r.opsPerSecond = ops * 1e9 / elapsed;
+        r.bytesPerOp = (allocatedBefore < 0) ? -1 : (double) (allocatedAfter - allocatedBefore) / ops;
+        r.gcCount = gcCount() - gcCountBefore;
+        r.gcMillis = gcMillis() - gcTimeBefore;
+
+        int kept = (int) Math.min(ops, RESERVOIR);
+        Arrays.sort(samples, 0, kept);
+        r.p50 = percentile(kept, 0.50);
+        r.p90 = percentile(kept, 0.90);
+        r.p99 = percentile(kept, 0.99);
+        r.p999 = percentile(kept, 0.999);
+        r.max = (kept > 0) ? samples[kept - 1] : 0;
+        return r;
+    }
+
+    // Keeps the JIT from dropping the measured work
+    long blackhole() { return blackhole; }
+
+    static void write(ReportSink sink, List<Result> results) throws IOException {
+        sink.beginReport("BENCHMARK RESULTS", "benchmark", "items", "ops", "ops/s",
+                "p50 ns", "p90 ns", "p99 ns", "p99.9 ns", "max ns", "bytes/op", "gc count", "gc ms");
+        for (Result r : results) {
+            sink.beginRow();
+            sink.value(r.name);
+            sink.value(r.items);
+            sink.value(r.ops);
+            sink.value(r.opsPerSecond);
+            sink.value(r.p50);
+            sink.value(r.p90);
+            sink.value(r.p99);
+            sink.value(r.p999);
+            sink.value(r.max);
+            sink.value(r.bytesPerOp);
+            sink.value(r.gcCount);
+            sink.value(r.gcMillis);
+            sink.endRow();
+        }
+        sink.endReport();
+    }
+
+    // ----------------- helpers -----------------
+
+    private long percentile(int kept, double p) {
+        if (kept == 0) return 0;
+        int index = (int) Math.ceil(p * kept) - 1;
+        return samples[Math.max(0, Math.min(kept - 1, index))];
+    }
+
+    // Bytes allocated by this thread so far (-1 if unsupported)
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) bean;
+            if (hotspot.isThreadAllocatedMemorySupported()) {
+                return hotspot.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    private static long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionCount());
+        }
+        return total;
+    }
+
+    private static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+}
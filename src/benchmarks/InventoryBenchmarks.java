@@ -0,0 +1,224 @@
+package benchmarks;
+
+import managers.InventoryManager;
+import managers.InventoryMetrics;
+import managers.InventoryReports;
+import managers.LoanLedger;
+import managers.MaintenanceScheduler;
+import managers.OverdueLedger;
+import managers.ReportSink;
+import exceptions.InventoryException;
+import models.Equipment;
+import models.StaffMember;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Benchmarks for the hot paths: the three searchEquipment overloads, assign/return cycles,
+// validateAssignment / tryAssign rejections and every report (written to a discarding sink).
+//
+// Usage: java benchmarks.InventoryBenchmarks [options]
+//   --sizes 1000,100000,1000000   inventory sizes (up to 10M; needs a large heap)
+//   --filter search               only benchmarks whose name contains this
+//   --warmup 1000 --time 2000     warmup / measurement per benchmark, in ms
+//   --format text|csv|json        result encoding (default text)
+//   --out results.csv             write results to a file instead of the console
+//   --seed 42                     generator seed
+//   --metrics true                measure with InventoryMetrics attached (shows its overhead)
+public class InventoryBenchmarks {
+
+    private static final int TERMS = 1024; // power of 2
+
+    public static void main(String[] args) throws Exception {
+        int[] sizes = {1_000, 100_000};
+        String filter = "";
+        long warmup = 1000;
+        long time = 2000;
+        String format = "text";
+        String out = null;
+        long seed = 42;
+        boolean withMetrics = false;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--sizes": sizes = parseSizes(value); break;
+                case "--filter": filter = value; break;
+                case "--warmup": warmup = Long.parseLong(value); break;
+                case "--time": time = Long.parseLong(value); break;
+                case "--format": format = value; break;
+                case "--out": out = value; break;
+                case "--seed": seed = Long.parseLong(value); break;
+                case "--metrics": withMetrics = Boolean.parseBoolean(value); break;
+                default:
+                    System.out.println("Unknown option: " + args[i]);
+                    return;
+            }
+        }
+
+        BenchmarkRunner runner = new BenchmarkRunner(warmup, time);
+        List<BenchmarkRunner.Result> results = new ArrayList<>();
+        for (int size : sizes) {
+            System.out.println("Generating " + size + " items...");
+            SyntheticInventory inventory = SyntheticInventory.generate(size, seed);
+            if (withMetrics) inventory.getManager().setMetrics(new InventoryMetrics());
+            runAll(runner, inventory, size, filter, new Random(seed), results);
+        }
+
+        ReportSink sink;
+        if (out == null) {
+            sink = encoder(format, null);
+            BenchmarkRunner.write(sink, results);
+        } else {
+            try (ReportSink file = encoder(format, Files.newBufferedWriter(Paths.get(out)))) {
+                BenchmarkRunner.write(file, results);
+            }
+            System.out.println("Results written to " + out);
+        }
+        if (runner.blackhole() == 42) System.out.println(); // keeps the results observable
+    }
+
+    private static void runAll(BenchmarkRunner runner, SyntheticInventory inv, int size, String filter,
+                               Random random, List<BenchmarkRunner.Result> results) throws Exception {
+        InventoryManager manager = inv.getManager();
+        Equipment[] equipment = inv.getEquipment();
+        StaffMember[] staff = inv.getStaff();
+
+        // Loans fall due after 1 ms, so the overdue-loans report has rows to write
+        LoanLedger loans = new LoanLedger(Clock.systemUTC(), Duration.ofMillis(1), Duration.ofMillis(1));
+        manager.setLoanLedger(loans);
+
+        // Rejection fixtures: staff[0] is at the 5-item limit, equipment[0..4] are taken
+        for (int i = 0; i < 5; i++) manager.assignEquipment(staff[0], equipment[i]);
+        Equipment taken = equipment[0];
+        Equipment free = equipment[5];
+
+        String[] terms = inv.searchTerms(random, TERMS);
+        String[] categories = SyntheticInventory.CATEGORIES;
+        int[] warrantyFrom = new int[TERMS];
+        for (int i = 0; i < TERMS; i++) warrantyFrom[i] = random.nextInt(60);
+
+        // ---------------- search ----------------
+        run(runner, results, filter, "search.name", size,
+                i -> manager.searchEquipment(terms[i & (TERMS - 1)]).length);
+        run(runner, results, filter, "search.category", size,
+                i -> manager.searchEquipment(categories[i % categories.length], (i & 1) == 0).length);
+        run(runner, results, filter, "search.warranty", size,
+                i -> {
+                    int from = warrantyFrom[i & (TERMS - 1)];
+                    return manager.searchEquipment(from, from + 6).length;
+                });
+
+        // ---------------- assign / return ----------------
+        int cycleItems = equipment.length - 5;
+        int cycleStaff = staff.length - 1;
+        run(runner, results, filter, "assign.return", size,
+                i -> {
+                    StaffMember s = staff[1 + i % cycleStaff];
+                    Equipment eq = equipment[5 + i % cycleItems];
+                    manager.assignEquipment(s, eq);
+                    manager.returnEquipment(s, eq.getAssetId());
+                    return s.getAssignedEquipmentCount();
+                });
+
+        // ---------------- validateAssignment rejections ----------------
+        run(runner, results, filter, "validate.notAvailable", size,
+                i -> rejected(manager, staff[1], taken));
+        run(runner, results, filter, "validate.limitExceeded", size,
+                i -> rejected(manager, staff[0], free));
+        run(runner, results, filter, "validate.staffNotFound", size,
+                i -> rejected(manager, null, free));
+
+        // ---------------- tryAssign rejections (no exception) ----------------
+        run(runner, results, filter, "tryAssign.notAvailable", size,
+                i -> manager.tryAssign(staff[1], taken).ordinal());
+        run(runner, results, filter, "tryAssign.limitExceeded", size,
+                i -> manager.tryAssign(staff[0], free).ordinal());
+
+        // ---------------- reports ----------------
+        InventoryReports reports = new InventoryReports(inv.getItems(), inv.getItems().length,
+                staff, staff.length, manager, inv.getDepartments());
+        MaintenanceScheduler scheduler = new MaintenanceScheduler(LocalDate.now(), 30, 3);
+        scheduler.addAll(inv.getItems(), inv.getItems().length);
+        reports.setMaintenanceScheduler(scheduler);
+
+        OverdueLedger overdue = new OverdueLedger();
+        for (int i = 0; i < equipment.length; i += 100) overdue.add(equipment[i].getAssetId(), 1 + i % 30);
+        String department = SyntheticInventory.DEPARTMENTS[0];
+
+        ReportSink discard = ReportSink.text(Writer.nullWriter());
+        report(runner, results, filter, "report.inventory", size, () -> reports.generateInventoryReport(discard));
+        report(runner, results, filter, "report.expiredWarranties", size, () -> reports.findExpiredWarranties(discard));
+        report(runner, results, filter, "report.assignmentsByDepartment", size,
+                () -> reports.displayAssignmentsByDepartment(discard));
+        report(runner, results, filter, "report.assignmentsForDepartment", size,
+                () -> reports.displayAssignmentsForDepartment(discard, department));
+        report(runner, results, filter, "report.utilisation", size, () -> reports.calculateUtilisationRate(discard));
+        report(runner, results, filter, "report.maintenanceSchedule", size,
+                () -> reports.generateMaintenanceSchedule(discard));
+        report(runner, results, filter, "report.maintenancePlan", size, () -> reports.generateMaintenancePlan(discard));
+        report(runner, results, filter, "report.fees", size, () -> reports.generateFeeReport(discard, overdue));
+        report(runner, results, filter, "report.overdueLoans", size, () -> reports.generateOverdueLoansReport(discard));
+
+        reports.setParallelThreshold(16_384);
+        report(runner, results, filter, "report.inventory.parallel", size, () -> reports.generateInventoryReport(discard));
+
+        // Leave the inventory as generated
+        for (int i = 0; i < 5; i++) manager.returnEquipment(staff[0], equipment[i].getAssetId());
+        manager.setLoanLedger(null);
+    }
+
+    // ----------------- helpers -----------------
+
+    private interface ReportCall {
+        void write() throws IOException;
+    }
+
+    private static void run(BenchmarkRunner runner, List<BenchmarkRunner.Result> results, String filter,
+                            String name, int size, BenchmarkRunner.Operation op) throws Exception {
+        if (!name.contains(filter)) return;
+        System.out.println("Running " + name + " (" + size + " items)");
+        results.add(runner.run(name, size, op));
+    }
+
+    private static void report(BenchmarkRunner runner, List<BenchmarkRunner.Result> results, String filter,
+                               String name, int size, ReportCall call) throws Exception {
+        run(runner, results, filter, name, size, i -> {
+            call.write();
+            return i;
+        });
+    }
+
+    // 1 if validateAssignment rejected the pair (the expected outcome), 0 if it let it through
+    private static long rejected(InventoryManager manager, StaffMember staff, Equipment equipment) {
+        try {
+            manager.validateAssignment(staff, equipment);
+            return 0;
+        } catch (InventoryException e) {
+            return 1;
+        }
+    }
+
+    private static ReportSink encoder(String format, Writer file) {
+        switch (format) {
+            case "csv": return (file != null) ? ReportSink.csv(file) : ReportSink.csv(System.out);
+            case "json": return (file != null) ? ReportSink.json(file) : ReportSink.json(System.out);
+            default: return (file != null) ? ReportSink.text(file) : ReportSink.text(System.out);
+        }
+    }
+
+    private static int[] parseSizes(String list) {
+        String[] parts = list.split(",");
+        int[] sizes = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) sizes[i] = Integer.parseInt(parts[i].trim().replace("_", ""));
+        return sizes;
+    }
+}
@@ -0,0 +1,264 @@
+package benchmarks;
+
+import managers.InventoryServer;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Load generator for server mode (UniversityInventorySystem --serve <port>)
+// Opens every client connection first, then all clients run a desk-style mix at once:
+// 70% assign + return of the client's own item, 20% name search, 10% ping.
+// Each client waits for a response before sending its next command (closed loop).
+//
+// Usage: java benchmarks.LoadGenerator --port 7070 [--clients 1000] [--seconds 10] [--staff N]
+// Setup registers staff 900001.. (one per client unless --staff is given) and adds items LG-0..
+// (already existing ones are reused).
+public class LoadGenerator {
+
+    private static final int SAMPLES_PER_CLIENT = 256;
+    private static final int FIRST_STAFF_ID = 900_001;
+
+    public static void main(String[] args) throws Exception {
+        String host = "localhost";
+        int port = 7070;
+        int clients = 1000;
+        int seconds = 10;
+        int staff = 0; // 0 = one staff member per client
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--host": host = value; break;
+                case "--port": port = Integer.parseInt(value); break;
+                case "--clients": clients = Integer.parseInt(value); break;
+                case "--seconds": seconds = Integer.parseInt(value); break;
+                case "--staff": staff = Integer.parseInt(value); break;
+                default:
+                    System.out.println("Unknown option: " + args[i]);
+                    return;
+            }
+        }
+
+        if (staff <= 0) staff = clients;
+        setup(host, port, clients, staff);
+
+        ExecutorService executor = InventoryServer.newConnectionExecutor();
+        Client[] all = new Client[clients];
+        CountDownLatch connected = new CountDownLatch(clients);
+        CountDownLatch go = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(clients);
+        Stats stats = new Stats();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds) + TimeUnit.SECONDS.toNanos(30);
+
+        for (int c = 0; c < clients; c++) {
+            all[c] = new Client(host, port, c, FIRST_STAFF_ID + c % staff, stats);
+            Client client = all[c];
+            executor.execute(() -> client.run(connected, go, done));
+        }
+
+        connected.await();
+        System.out.println("Connected " + (clients - stats.connectFailures.get()) + " of " + clients + " clients");
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        for (Client client : all) client.end = end;
+        go.countDown();
+        done.await(Math.max(1, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        long elapsed = System.nanoTime() - start;
+        executor.shutdownNow();
+
+        report(all, stats, elapsed);
+    }
+
+    // ----------------- one client -----------------
+
+    private static class Client {
+        final String host;
+        final int port;
+        final String assetId;
+        final int staffId;
+        final Stats stats;
+        final long[] samples = new long[SAMPLES_PER_CLIENT];
+        final Random random;
+        long recorded;
+        volatile long end;
+
+        Client(String host, int port, int index, int staffId, Stats stats) {
+            this.host = host;
+            this.port = port;
+            this.assetId = "LG-" + index;
+            this.staffId = staffId;
+            this.stats = stats;
+            this.random = new Random(staffId * 31L + index);
+        }
+
+        void run(CountDownLatch connected, CountDownLatch go, CountDownLatch done) {
+            Socket socket = null;
+            try {
+                try {
+                    socket = new Socket(host, port);
+                    socket.setTcpNoDelay(true);
+                } catch (IOException e) {
+                    stats.connectFailures.incrementAndGet();
+                    return;
+                } finally {
+                    connected.countDown();
+                }
+
+                BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+                String assign = "ASSIGN " + staffId + " " + assetId;
+                String giveBack = "RETURN " + staffId + " " + assetId;
+                String search = "SEARCH NAME " + assetId;
+
+                go.await();
+                while (System.nanoTime() < end) {
+                    int pick = random.nextInt(10);
+                    if (pick < 7) {
+                        call(in, out, assign);
+                        call(in, out, giveBack);
+                    } else if (pick < 9) {
+                        call(in, out, search);
+                    } else {
+                        call(in, out, "PING");
+                    }
+                }
+                call(in, out, "QUIT");
+            } catch (IOException e) {
+                stats.ioFailures.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                if (socket != null) {
+                    try {
+                        socket.close();
+                    } catch (IOException ignored) {
+                        // done with it
+                    }
+                }
+                done.countDown();
+            }
+        }
+
+        private void call(BufferedReader in, Writer out, String command) throws IOException {
+            long t0 = System.nanoTime();
+            out.write(command);
+            out.write('\n');
+            out.flush();
+
+            String line = in.readLine();
+            if (line == null) throw new IOException("server closed the connection");
+            if (line.startsWith("OK ") && line.length() > 3 && Character.isDigit(line.charAt(3))) {
+                int more = Integer.parseInt(line.substring(3).trim());
+                for (int i = 0; i < more; i++) in.readLine();
+            } else if (line.equals("OK REPORT")) {
+                String body;
+                while ((body = in.readLine()) != null && !body.equals("END")) {
+                    if (body.startsWith("ERR ")) {
+                        line = body; // the report failed part-way
+                        break;
+                    }
+                }
+            }
+            long latency = System.nanoTime() - t0;
+
+            stats.commands.increment();
+            if (line.startsWith("ERR ")) {
+                int space = line.indexOf(' ', 4);
+                stats.errors.computeIfAbsent(line.substring(4, (space < 0) ? line.length() : space),
+                        k -> new LongAdder()).increment();
+            }
+
+            // Reservoir sample of this client's latencies
+            if (recorded < SAMPLES_PER_CLIENT) {
+                samples[(int) recorded] = latency;
+            } else {
+                long slot = (long) (random.nextDouble() * (recorded + 1));
+                if (slot < SAMPLES_PER_CLIENT) samples[(int) slot] = latency;
+            }
+            recorded++;
+        }
+    }
+
+    private static class Stats {
+        final LongAdder commands = new LongAdder();
+        final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+        final AtomicLong connectFailures = new AtomicLong();
+        final AtomicLong ioFailures = new AtomicLong();
+    }
+
+    // ----------------- helpers -----------------
+
+    // Staff and one item per client, over a single connection
+    private static void setup(String host, int port, int clients, int staff) throws IOException {
+        try (Socket socket = new Socket(host, port);
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            // Pipelined: everything is sent, then every response is read
+            int sent = 0;
+            for (int s = 0; s < staff; s++) {
+                int id = FIRST_STAFF_ID + s;
+                out.write("STAFF " + id + " \"Load " + id + "\" load" + id + "@uni.example Load\n");
+                sent++;
+            }
+            for (int c = 0; c < clients; c++) {
+                out.write("ADD LG-" + c + " \"Load item " + c + "\" LoadCo 12 IT\n");
+                sent++;
+            }
+            out.write("QUIT\n");
+            out.flush();
+
+            int failed = 0;
+            for (int i = 0; i < sent; i++) {
+                String line = in.readLine();
+                if (line == null) throw new IOException("server closed the connection during setup");
+                if (line.startsWith("ERR ") && !line.startsWith("ERR DUPLICATE")) failed++;
+            }
+            if (failed > 0) System.out.println("Setup: " + failed + " commands failed");
+        }
+    }
+
+    private static void report(Client[] clients, Stats stats, long elapsedNanos) {
+        int kept = 0;
+        for (Client c : clients) kept += (int) Math.min(c.recorded, SAMPLES_PER_CLIENT);
+        long[] all = new long[kept];
+        int pos = 0;
+        for (Client c : clients) {
+            int n = (int) Math.min(c.recorded, SAMPLES_PER_CLIENT);
+            System.arraycopy(c.samples, 0, all, pos, n);
+            pos += n;
+        }
+        Arrays.sort(all);
+
+        long commands = stats.commands.sum();
+        System.out.println(String.format("Commands: %d in %.1f s = %.0f/s", commands, elapsedNanos / 1e9,
+                commands * 1e9 / elapsedNanos));
+        System.out.println(String.format("Latency us: p50 %.1f  p90 %.1f  p99 %.1f  p99.9 %.1f  max %.1f",
+                percentile(all, 0.50) / 1e3, percentile(all, 0.90) / 1e3, percentile(all, 0.99) / 1e3,
+                percentile(all, 0.999) / 1e3, (all.length > 0 ? all[all.length - 1] : 0) / 1e3));
+        System.out.println("Connect failures: " + stats.connectFailures.get() + ", I/O failures: " + stats.ioFailures.get());
+        for (Map.Entry<String, LongAdder> e : stats.errors.entrySet()) {
+            System.out.println("ERR " + e.getKey() + ": " + e.getValue().sum());
+        }
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
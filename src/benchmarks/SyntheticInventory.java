@@ -0,0 +1,143 @@
+package benchmarks;
+
+import managers.DepartmentIndex;
+import managers.InventoryManager;
+import models.Equipment;
+import models.Furniture;
+import models.InventoryItem;
+import models.LabEquipment;
+import models.StaffMember;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// Generated inventory for the benchmarks: same seed + size = same inventory
+// Categories and brands follow a Zipf-like skew (a few very common, a long tail),
+// like a real asset register. 90% Equipment, 5% Furniture, 5% LabEquipment;
+// about 1 in 10 warranties has expired. Everything starts available.
+public class SyntheticInventory {
+
+    static final String[] CATEGORIES = {
+        "IT", "LAB", "AV", "OFFICE", "WORKSHOP", "MEDICAL", "SPORTS", "LIBRARY", "SECURITY", "OTHER"
+    };
+    static final String[] DEPARTMENTS = {
+        "Computing", "Engineering", "Biology", "Chemistry", "Physics", "Library", "Estates", "Arts"
+    };
+    private static final String[] BRANDS = {
+        "Dell", "HP", "Lenovo", "Apple", "Epson", "Canon", "Sony", "Zeiss", "Bosch", "Makita",
+        "Philips", "Samsung", "Acer", "Asus", "Brother", "Logitech", "Fluke", "Keysight", "Olympus", "Nikon",
+        "Thermo", "Sartorius", "Mettler", "Eppendorf", "Leica", "Yamaha", "Bose", "Panasonic", "Sharp", "Ricoh"
+    };
+    private static final String[] NOUNS = {
+        "Laptop", "Monitor", "Projector", "Printer", "Camera", "Microscope", "Oscilloscope", "Drill",
+        "Centrifuge", "Balance", "Speaker", "Tablet", "Scanner", "Router", "Headset", "Multimeter"
+    };
+
+    private final InventoryItem[] items;
+    private final Equipment[] equipment;
+    private final StaffMember[] staff;
+    private final InventoryManager manager;
+    private final DepartmentIndex departments;
+
+    private SyntheticInventory(InventoryItem[] items, Equipment[] equipment, StaffMember[] staff,
+                               InventoryManager manager, DepartmentIndex departments) {
+        this.items = items;
+        this.equipment = equipment;
+        this.staff = staff;
+        this.manager = manager;
+        this.departments = departments;
+    }
+
+    public static SyntheticInventory generate(int size, long seed) {
+        Random random = new Random(seed);
+        double[] categoryWeights = zipf(CATEGORIES.length, 1.1);
+        double[] brandWeights = zipf(BRANDS.length, 1.2);
+
+        InventoryItem[] items = new InventoryItem[size];
+        Equipment[] equipment = new Equipment[size];
+        int equipmentCount = 0;
+
+        for (int i = 0; i < size; i++) {
+            String brand = BRANDS[pick(brandWeights, random)];
+            String noun = NOUNS[random.nextInt(NOUNS.length)];
+            int kind = random.nextInt(20);
+
+            if (kind == 0) {
+                items[i] = new Furniture("F" + i, "Desk " + i, true, "R" + random.nextInt(500), "Oak");
+            } else if (kind == 1) {
+                String date = "2026-" + pad(1 + random.nextInt(12)) + "-" + pad(1 + random.nextInt(28));
+                items[i] = new LabEquipment("L" + i, brand + " " + noun + " " + i, true, "Lab " + random.nextInt(40), date);
+            } else {
+                int warranty = (random.nextInt(10) == 0) ? 0 : 1 + random.nextInt(60);
+                Equipment eq = new Equipment("E" + i, brand + " " + noun + " " + i, true, brand, warranty,
+                        CATEGORIES[pick(categoryWeights, random)]);
+                items[i] = eq;
+                equipment[equipmentCount++] = eq;
+            }
+        }
+
+        int staffCount = Math.max(10, Math.min(100_000, size / 20));
+        StaffMember[] staff = new StaffMember[staffCount];
+        DepartmentIndex departments = new DepartmentIndex();
+        for (int i = 0; i < staffCount; i++) {
+            staff[i] = new StaffMember(i + 1, "Staff " + (i + 1), "staff" + (i + 1) + "@uni.example");
+            staff[i].setDepartment(DEPARTMENTS[random.nextInt(DEPARTMENTS.length)]);
+            departments.register(staff[i]);
+        }
+
+        InventoryManager manager = new InventoryManager(equipmentCount);
+        Equipment[] batch = Arrays.copyOf(equipment, equipmentCount);
+        manager.addEquipmentBulk(batch, equipmentCount);
+
+        return new SyntheticInventory(items, Arrays.copyOf(equipment, equipmentCount),
+                staff, manager, departments);
+    }
+
+    public InventoryItem[] getItems() { return items; }
+    public Equipment[] getEquipment() { return equipment; }
+    public StaffMember[] getStaff() { return staff; }
+    public InventoryManager getManager() { return manager; }
+    public DepartmentIndex getDepartments() { return departments; }
+
+    // Name fragments a user might type: brands, nouns and numbers
+    String[] searchTerms(Random random, int count) {
+        String[] terms = new String[count];
+        for (int i = 0; i < count; i++) {
+            switch (random.nextInt(3)) {
+                case 0: terms[i] = BRANDS[random.nextInt(BRANDS.length)].toLowerCase(); break;
+                case 1: terms[i] = NOUNS[random.nextInt(NOUNS.length)].substring(0, 4); break;
+                default: terms[i] = Integer.toString(random.nextInt(Math.max(1, items.length)));
+            }
+        }
+        return terms;
+    }
+
+    // ----------------- helpers -----------------
+
+    // Cumulative weights with weight(k) = 1 / (k + 1)^s
+    private static double[] zipf(int n, double s) {
+        double[] cumulative = new double[n];
+        double total = 0;
+        for (int k = 0; k < n; k++) {
+            total += 1.0 / Math.pow(k + 1, s);
+            cumulative[k] = total;
+        }
+        for (int k = 0; k < n; k++) cumulative[k] /= total;
+        return cumulative;
+    }
+
+    private static int pick(double[] cumulative, Random random) {
+        double r = random.nextDouble();
+        int lo = 0;
+        int hi = cumulative.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cumulative[mid] < r) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    private static String pad(int value) {
+        return (value < 10) ? "0" + value : Integer.toString(value);
+    }
+}
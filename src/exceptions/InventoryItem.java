@@ -1,29 +1,47 @@
-package Exception;
-
-// Base exception class
-public class InventoryException extends Exception {
-    public InventoryException(String message) {
-        super(message);
-    }
-
-    // Equipment not available
-    public static class EquipmentNotAvailableException extends InventoryException {
-        public EquipmentNotAvailableException(String message) {
-            super(message);
-        }
-    }
-
-    // Staff member not found
-    public static class StaffMemberNotFoundException extends InventoryException {
-        public StaffMemberNotFoundException(String message) {
-            super(message);
-        }
-    }
-
-    // Assignment limit exceeded
-    public static class AssignmentLimitExceededException extends InventoryException {
-        public AssignmentLimitExceededException(String message) {
-            super(message);
-        }
-    }
-}
+package Exception;
+
+// Base exception class
+public class InventoryException extends Exception {
+    public InventoryException(String message) {
+        super(message);
+    }
+
+    // writableStackTrace = false: no stack trace is captured, so one instance can be
+    // created once and thrown again and again (used for the common assignment rejections)
+    public InventoryException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+
+    // Equipment not available
+    public static class EquipmentNotAvailableException extends InventoryException {
+        public EquipmentNotAvailableException(String message) {
+            super(message);
+        }
+
+        public EquipmentNotAvailableException(String message, boolean writableStackTrace) {
+            super(message, writableStackTrace);
+        }
+    }
+
+    // Staff member not found
+    public static class StaffMemberNotFoundException extends InventoryException {
+        public StaffMemberNotFoundException(String message) {
+            super(message);
+        }
+
+        public StaffMemberNotFoundException(String message, boolean writableStackTrace) {
+            super(message, writableStackTrace);
+        }
+    }
+
+    // Assignment limit exceeded
+    public static class AssignmentLimitExceededException extends InventoryException {
+        public AssignmentLimitExceededException(String message) {
+            super(message);
+        }
+
+        public AssignmentLimitExceededException(String message, boolean writableStackTrace) {
+            super(message, writableStackTrace);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package Managers;
+
+// Per-item outcome of InventoryManager.assignBatch / returnBatch
+public enum AssignmentResult {
+    OK,                 // applied
+    NOT_APPLIED,        // item was fine, but another item in the kit failed (all-or-nothing)
+    STAFF_NOT_FOUND,
+    EQUIPMENT_NOT_FOUND,
+    DUPLICATE,          // same asset listed twice in one kit
+    NOT_AVAILABLE,
+    LIMIT_EXCEEDED,     // the whole kit would take the staff member past the limit
+    NOT_ASSIGNED;       // return of an asset the staff member does not hold
+
+    public boolean isSuccess() {
+        return this == OK;
+    }
+}
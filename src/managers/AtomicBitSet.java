@@ -0,0 +1,97 @@
+package Managers;
+
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Packed bitset where each bit can be compare-and-set on its own (used for availability)
+// Bits live in fixed-size segments; growing only appends segments, so a CAS on an
+// existing bit never races with a resize.
+class AtomicBitSet {
+
+    private static final int SEGMENT_SHIFT = 16;                    // 65536 bits per segment
+    private static final int SEGMENT_BITS = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_WORDS = SEGMENT_BITS / 64;
+
+    private volatile AtomicLongArray[] segments = new AtomicLongArray[0];
+
+    // Makes sure bits [0, bitCount) exist
+    synchronized void ensureCapacity(int bitCount) {
+        int needed = (bitCount + SEGMENT_BITS - 1) >>> SEGMENT_SHIFT;
+        AtomicLongArray[] current = segments;
+        if (needed <= current.length) return;
+
+        AtomicLongArray[] grown = new AtomicLongArray[Math.max(needed, current.length * 2)];
+        System.arraycopy(current, 0, grown, 0, current.length);
+        for (int i = current.length; i < grown.length; i++) {
+            grown[i] = new AtomicLongArray(SEGMENT_WORDS);
+        }
+        segments = grown;
+    }
+
+    boolean get(int bit) {
+        AtomicLongArray[] segs = segments;
+        int seg = bit >>> SEGMENT_SHIFT;
+        if (seg >= segs.length) return false;
+        return (segs[seg].get(wordIndex(bit)) & mask(bit)) != 0;
+    }
+
+    void set(int bit, boolean value) {
+        while (!compareAndSet(bit, !value, value)) {
+            if (get(bit) == value) return; // already in the wanted state
+        }
+    }
+
+    // Atomically flips the bit from expect to update; false if it was not expect
+    boolean compareAndSet(int bit, boolean expect, boolean update) {
+        AtomicLongArray words = segments[bit >>> SEGMENT_SHIFT];
+        int index = wordIndex(bit);
+        long mask = mask(bit);
+
+        while (true) {
+            long word = words.get(index);
+            boolean current = (word & mask) != 0;
+            if (current != expect) return false;
+            if (expect == update) return true;
+
+            long next = update ? (word | mask) : (word & ~mask);
+            if (words.compareAndSet(index, word, next)) return true;
+        }
+    }
+
+    // rows AND this set, word by word against the live words
+    // Only the words where rows has a bit are read, so a small category costs its own bitmap,
+    // not a copy of the whole column. Each word is read atomically; the result as a whole is
+    // not a point-in-time view (like any search, it can race with an assign).
+    BitSet and(BitSet rows) {
+        AtomicLongArray[] segs = segments;
+        long[] words = rows.toLongArray();
+        for (int w = 0; w < words.length; w++) {
+            if (words[w] == 0) continue;
+            int seg = w / SEGMENT_WORDS;
+            words[w] &= (seg < segs.length) ? segs[seg].get(w % SEGMENT_WORDS) : 0L;
+        }
+        return BitSet.valueOf(words);
+    }
+
+    // Copy of bits [0, bitCount); a point-in-time view only while nothing flips a bit
+    // (InventorySnapshot takes it with every staff lock and the index read lock held)
+    BitSet snapshot(int bitCount) {
+        AtomicLongArray[] segs = segments;
+        long[] words = new long[(bitCount + 63) >>> 6];
+        for (int w = 0; w < words.length; w++) {
+            int seg = w / SEGMENT_WORDS;
+            if (seg >= segs.length) break;
+            words[w] = segs[seg].get(w % SEGMENT_WORDS);
+        }
+        if ((bitCount & 63) != 0 && words.length > 0) words[words.length - 1] &= (1L << (bitCount & 63)) - 1;
+        return BitSet.valueOf(words);
+    }
+
+    private static int wordIndex(int bit) {
+        return (bit & (SEGMENT_BITS - 1)) >>> 6;
+    }
+
+    private static long mask(int bit) {
+        return 1L << (bit & 63);
+    }
+}
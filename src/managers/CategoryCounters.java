@@ -0,0 +1,68 @@
+package Managers;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Per-category total / assigned counts, kept current on every add, remove, assign, return
+// and category change, so utilisation is read in O(categories) instead of rescanned.
+// There is one Counts object per category ordinal. Growing copies the array but shares the
+// objects, so an assign/return racing with a new category never loses an increment.
+class CategoryCounters {
+
+    private static final class Counts {
+        final AtomicInteger total = new AtomicInteger();
+        final AtomicInteger assigned = new AtomicInteger();
+    }
+
+    private volatile Counts[] counts = new Counts[0];
+
+    // Row entered the category (unavailable rows count as assigned, like the original report)
+    void added(int ord, boolean available) {
+        if (ord < 0) return;
+        Counts c = at(ord);
+        c.total.incrementAndGet();
+        if (!available) c.assigned.incrementAndGet();
+    }
+
+    void removed(int ord, boolean available) {
+        if (ord < 0) return;
+        Counts c = at(ord);
+        c.total.decrementAndGet();
+        if (!available) c.assigned.decrementAndGet();
+    }
+
+    void assigned(int ord) {
+        if (ord >= 0) at(ord).assigned.incrementAndGet();
+    }
+
+    void returned(int ord) {
+        if (ord >= 0) at(ord).assigned.decrementAndGet();
+    }
+
+    int totalCount(int ord) {
+        Counts[] current = counts;
+        return (ord >= 0 && ord < current.length) ? current[ord].total.get() : 0;
+    }
+
+    int assignedCount(int ord) {
+        Counts[] current = counts;
+        return (ord >= 0 && ord < current.length) ? current[ord].assigned.get() : 0;
+    }
+
+    private Counts at(int ord) {
+        Counts[] current = counts;
+        return (ord < current.length) ? current[ord] : grow(ord);
+    }
+
+    private synchronized Counts grow(int ord) {
+        Counts[] current = counts;
+        if (ord < current.length) return current[ord];
+
+        Counts[] grown = Arrays.copyOf(current, Math.max(ord + 1, current.length * 2));
+        for (int i = current.length; i < grown.length; i++) {
+            grown[i] = new Counts();
+        }
+        counts = grown;
+        return grown[ord];
+    }
+}
@@ -0,0 +1,60 @@
+package Managers;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+// Bitmap indexes over inventory rows: one bitmap per category ordinal
+// The availability bitmap is the store's own packed availability column.
+// Filtered searches become bitmap OR / AND operations (counts live in CategoryCounters).
+class CategoryIndex {
+
+    private final EquipmentStore store;
+    private BitSet[] byCategory = new BitSet[8]; // index = category ordinal
+
+    CategoryIndex(EquipmentStore store) {
+        this.store = store;
+    }
+
+    void add(int row) {
+        int ord = store.categoryOrdinal(row);
+        if (ord < 0) return;
+
+        if (ord >= byCategory.length) {
+            byCategory = Arrays.copyOf(byCategory, Math.max(ord + 1, byCategory.length * 2));
+        }
+        if (byCategory[ord] == null) byCategory[ord] = new BitSet();
+        byCategory[ord].set(row);
+    }
+
+    // Call before the store row changes category or is cleared
+    void remove(int row) {
+        int ord = store.categoryOrdinal(row);
+        if (ord >= 0 && ord < byCategory.length && byCategory[ord] != null) {
+            byCategory[ord].clear(row);
+        }
+    }
+
+    // Rows whose category contains target (already trimmed + lowercased)
+    BitSet match(String target, boolean availableOnly) {
+        BitSet result = new BitSet();
+        for (int ord = 0; ord < store.categoryCount(); ord++) {
+            if (bits(ord) != null && store.categoryName(ord).toLowerCase().contains(target)) {
+                result.or(bits(ord));
+            }
+        }
+        return availableOnly ? store.availableOf(result) : result;
+    }
+
+    // Distinct category keys, in the order they were first seen
+    String[] categories() {
+        String[] names = new String[store.categoryCount()];
+        for (int ord = 0; ord < names.length; ord++) {
+            names[ord] = store.categoryName(ord);
+        }
+        return names;
+    }
+
+    private BitSet bits(int ord) {
+        return (ord >= 0 && ord < byCategory.length) ? byCategory[ord] : null;
+    }
+}
@@ -0,0 +1,24 @@
+package Managers;
+
+// Utilisation of one category at the moment it was read
+public class CategoryUsage {
+
+    private final String category;
+    private final int total;
+    private final int assigned;
+
+    CategoryUsage(String category, int total, int assigned) {
+        this.category = category;
+        this.total = total;
+        this.assigned = assigned;
+    }
+
+    public String getCategory() { return category; }
+    public int getTotal() { return total; }
+    public int getAssigned() { return assigned; }
+
+    // assigned / total as a percentage (0 for an empty category)
+    public double getRatePercent() {
+        return (total == 0) ? 0 : (assigned * 100.0) / total;
+    }
+}
@@ -0,0 +1,439 @@
+package Managers;
+
+import models.Equipment;
+import models.StaffMember;
+import models.StaffRole;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+// Text command protocol shared by the network server and batch mode (runBatch)
+//
+// One command per line; fields are separated by spaces, "double quotes" group a field with
+// spaces ("" inside quotes is a literal quote). Keywords are case-insensitive.
+//
+//   PING
+//   ADD <assetId> <name> <brand> <warrantyMonths> <category>
+//   STAFF <staffId> <name> <email> <department> [role]
+//   ASSIGN <staffId|email> <assetId>
+//   RETURN <staffId|email> <assetId>
+//   SEARCH NAME <keyword>
+//   SEARCH CATEGORY <category> [AVAILABLE]
+//   SEARCH WARRANTY <min> <max>
+//   REPORT <inventory|expired|departments|utilisation|maintenance|plan|loans|fees|metrics> [text|csv|json]
+//   QUIT
+//
+// Every command gets one response:
+//   OK [detail]            single line
+//   OK <n>                 followed by n lines (SEARCH: assetId, name, category, warranty, available
+//                          separated by tabs)
+//   OK REPORT              followed by the encoded report as it is produced, then a line END.
+//                          Report lines starting with ".", "END" or "ERR" are sent with an extra
+//                          "." in front (drop it when reading). A report that fails part-way
+//                          ends with an ERR line instead of END.
+// ADD rejects fields holding a tab, so SEARCH columns stay aligned (items that came in some other
+// way have their tabs written as spaces).
+//   ERR <CODE> <message>   CODE is an AssignmentResult name, or UNKNOWN_COMMAND / BAD_ARGUMENTS /
+//                          DUPLICATE / ERROR
+// Thread-safe: one processor can serve every connection.
+public class CommandProcessor {
+
+    private final InventoryManager manager;
+    private final InventoryContext context;
+    private final LongAdder commands = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    public CommandProcessor(InventoryManager manager, InventoryContext context) {
+        this.manager = manager;
+        this.context = context;
+    }
+
+    public long getCommandCount() { return commands.sum(); }
+    public long getErrorCount() { return errors.sum(); }
+
+    // Runs one command line and writes its response to out (not flushed)
+    // Returns false after QUIT
+    public boolean execute(String line, Writer out) throws IOException {
+        commands.increment();
+        List<String> args = tokenize(line);
+        if (args.isEmpty()) {
+            error(out, "BAD_ARGUMENTS", "empty command");
+            return true;
+        }
+
+        String command = args.get(0).toUpperCase();
+        try {
+            switch (command) {
+                case "PING":
+                    out.write("OK PONG\n");
+                    break;
+                case "ADD":
+                    add(args, out);
+                    break;
+                case "STAFF":
+                    staff(args, out);
+                    break;
+                case "ASSIGN":
+                    assign(args, out);
+                    break;
+                case "RETURN":
+                    giveBack(args, out);
+                    break;
+                case "SEARCH":
+                    search(args, out);
+                    break;
+                case "REPORT":
+                    report(args, out);
+                    break;
+                case "QUIT":
+                    out.write("OK BYE\n");
+                    return false;
+                default:
+                    error(out, "UNKNOWN_COMMAND", command);
+            }
+        } catch (NumberFormatException e) {
+            error(out, "BAD_ARGUMENTS", "expected a number: " + e.getMessage());
+        } catch (RuntimeException e) {
+            // Any other failure (manager, reports) still gets one well-formed response: every
+            // command writes its response only after the work that can fail
+            error(out, "ERROR", (e.getMessage() != null) ? e.getMessage() : e.getClass().getSimpleName());
+        }
+        return true;
+    }
+
+    // Runs commands from in back to back until the end or QUIT (batch mode), then flushes
+    // Blank lines and lines starting with # are skipped.
+    public void runBatch(BufferedReader in, Writer out) throws IOException {
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (isBlankOrComment(line)) continue;
+            if (!execute(line, out)) break;
+        }
+        out.flush();
+    }
+
+    // ---------------- commands ----------------
+
+    private void add(List<String> args, Writer out) throws IOException {
+        if (!expect(args, 6, "ADD <assetId> <name> <brand> <warrantyMonths> <category>", out)) return;
+        for (int i = 1; i < args.size(); i++) {
+            if (args.get(i).indexOf('\t') >= 0) {
+                error(out, "BAD_ARGUMENTS", "fields may not contain a tab");
+                return;
+            }
+        }
+        Equipment eq = new Equipment(args.get(1), args.get(2), true, args.get(3),
+                Integer.parseInt(args.get(4)), args.get(5));
+        if (!manager.addEquipmentToInventory(eq)) {
+            error(out, "DUPLICATE", "asset ID already exists: " + args.get(1));
+            return;
+        }
+        context.equipmentAdded(eq);
+        out.write("OK ADDED ");
+        out.write(eq.getAssetId());
+        out.write('\n');
+    }
+
+    private void staff(List<String> args, Writer out) throws IOException {
+        if (args.size() != 5 && args.size() != 6) {
+            error(out, "BAD_ARGUMENTS", "STAFF <staffId> <name> <email> <department> [role]");
+            return;
+        }
+        StaffRole role = (args.size() == 6) ? StaffRole.parse(args.get(5)) : StaffRole.STAFF;
+        if (role == null) {
+            error(out, "BAD_ARGUMENTS", "unknown role: " + args.get(5));
+            return;
+        }
+        StaffMember s = new StaffMember(Integer.parseInt(args.get(1)), args.get(2), args.get(3));
+        s.setDepartment(args.get(4));
+        s.setRole(role);
+        if (!context.registerStaff(s)) {
+            error(out, "DUPLICATE", "staff could not be registered: " + args.get(1));
+            return;
+        }
+        out.write("OK STAFF ");
+        out.write(args.get(1));
+        out.write('\n');
+    }
+
+    private void assign(List<String> args, Writer out) throws IOException {
+        if (!expect(args, 3, "ASSIGN <staffId|email> <assetId>", out)) return;
+        StaffMember s = findStaff(args.get(1));
+        Equipment eq = manager.findEquipmentByAssetId(args.get(2));
+        if (s == null) {
+            result(out, AssignmentResult.STAFF_NOT_FOUND, args.get(1));
+        } else if (eq == null) {
+            result(out, AssignmentResult.EQUIPMENT_NOT_FOUND, args.get(2));
+        } else {
+            result(out, manager.tryAssign(s, eq), args.get(2));
+        }
+    }
+
+    private void giveBack(List<String> args, Writer out) throws IOException {
+        if (!expect(args, 3, "RETURN <staffId|email> <assetId>", out)) return;
+        StaffMember s = findStaff(args.get(1));
+        if (s == null) {
+            result(out, AssignmentResult.STAFF_NOT_FOUND, args.get(1));
+            return;
+        }
+        result(out, manager.tryReturn(s, args.get(2)), args.get(2));
+    }
+
+    private void search(List<String> args, Writer out) throws IOException {
+        if (args.size() < 3) {
+            error(out, "BAD_ARGUMENTS", "SEARCH NAME|CATEGORY|WARRANTY ...");
+            return;
+        }
+        Equipment[] results;
+        switch (args.get(1).toUpperCase()) {
+            case "NAME":
+                results = manager.searchEquipment(args.get(2));
+                break;
+            case "CATEGORY":
+                boolean availableOnly = args.size() > 3 && args.get(3).equalsIgnoreCase("AVAILABLE");
+                results = manager.searchEquipment(args.get(2), availableOnly);
+                break;
+            case "WARRANTY":
+                if (!expect(args, 4, "SEARCH WARRANTY <min> <max>", out)) return;
+                results = manager.searchEquipment(Integer.parseInt(args.get(2)), Integer.parseInt(args.get(3)));
+                break;
+            default:
+                error(out, "BAD_ARGUMENTS", "SEARCH NAME|CATEGORY|WARRANTY ...");
+                return;
+        }
+
+        out.write("OK ");
+        out.write(Integer.toString(results.length));
+        out.write('\n');
+        for (Equipment eq : results) {
+            out.write(column(eq.getAssetId()));
+            out.write('\t');
+            out.write(column(eq.getName()));
+            out.write('\t');
+            out.write(column(eq.getCategory()));
+            out.write('\t');
+            out.write(Integer.toString(eq.getWarrantyMonths()));
+            out.write('\t');
+            out.write(eq.isAvailable() ? "yes" : "no");
+            out.write('\n');
+        }
+    }
+
+    private void report(List<String> args, Writer out) throws IOException {
+        if (args.size() < 2) {
+            error(out, "BAD_ARGUMENTS", "REPORT <name> [text|csv|json]");
+            return;
+        }
+        String format = (args.size() > 2) ? args.get(2).toLowerCase() : "text";
+        InventoryReports reports = context.reports();
+
+        Report report;
+        switch (args.get(1).toLowerCase()) {
+            case "inventory": report = reports::generateInventoryReport; break;
+            case "expired": report = reports::findExpiredWarranties; break;
+            case "departments": report = reports::displayAssignmentsByDepartment; break;
+            case "utilisation": report = reports::calculateUtilisationRate; break;
+            case "maintenance": report = reports::generateMaintenanceSchedule; break;
+            case "plan": report = reports::generateMaintenancePlan; break;
+            case "loans": report = reports::generateOverdueLoansReport; break;
+            case "metrics": report = reports::generateMetricsReport; break;
+            case "fees":
+                LoanLedger loans = manager.getLoanLedger();
+                OverdueLedger overdue = (loans != null) ? loans.toOverdueLedger() : new OverdueLedger();
+                report = sink -> reports.generateFeeReport(sink, overdue);
+                break;
+            default:
+                error(out, "BAD_ARGUMENTS", "unknown report: " + args.get(1));
+                return;
+        }
+
+        // Streamed straight to out: no copy of the report is kept, whatever its size
+        out.write("OK REPORT\n");
+        ReportBody body = new ReportBody(out);
+        ReportSink sink = format.equals("csv") ? ReportSink.csv(body)
+                : format.equals("json") ? ReportSink.json(body) : ReportSink.text(body);
+        try {
+            report.writeTo(sink); // every report ends with endReport, which flushes into body
+        } catch (RuntimeException e) {
+            body.endLine();
+            error(out, "ERROR", (e.getMessage() != null) ? e.getMessage() : e.getClass().getSimpleName());
+            return;
+        }
+        body.endLine();
+        out.write("END\n");
+    }
+
+    private interface Report {
+        void writeTo(ReportSink sink) throws IOException;
+    }
+
+    // The body of an OK REPORT response: puts a "." in front of each line starting with ".",
+    // "END" or "ERR" (so no report line reads as the END / ERR line closing it) and drops the
+    // blank line the text banner starts with. Never flushes or closes out: the caller does.
+    private static final class ReportBody extends Writer {
+        private static final int HEAD = 3; // longest prefix that decides the escape
+
+        private final Writer out;
+        private final char[] head = new char[HEAD];
+        private int headLength;
+        private boolean lineStart = true;   // at the start of a line, still reading its head
+        private boolean started;            // anything written yet
+
+        ReportBody(Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            for (int i = offset; i < offset + length; i++) {
+                put(chars[i]);
+            }
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            put((char) c);
+        }
+
+        @Override
+        public void flush() {
+            // the connection flushes when its client has nothing more buffered
+        }
+
+        @Override
+        public void close() {
+            // out belongs to the caller
+        }
+
+        // Writes out a pending line head and ends the current line if it is unfinished
+        void endLine() throws IOException {
+            if (headLength > 0) writeHead();
+            if (!lineStart) {
+                out.write('\n');
+                lineStart = true;
+            }
+        }
+
+        private void put(char c) throws IOException {
+            if (!started && c == '\n') return; // the text banner's leading blank line
+            started = true;
+            if (!lineStart) {
+                out.write(c);
+                if (c == '\n') lineStart = true;
+                return;
+            }
+            head[headLength++] = c;
+            if (c == '\n' || headLength == HEAD || head[0] == '.' || !couldEscape()) {
+                writeHead();
+            }
+        }
+
+        // Still a prefix of "END" / "ERR" (so the escape is not decided yet)
+        private boolean couldEscape() {
+            return startsWithHead("END") || startsWithHead("ERR");
+        }
+
+        private boolean startsWithHead(String word) {
+            for (int i = 0; i < headLength; i++) {
+                if (head[i] != word.charAt(i)) return false;
+            }
+            return true;
+        }
+
+        private void writeHead() throws IOException {
+            boolean escape = head[0] == '.' || (headLength == HEAD && couldEscape());
+            if (escape) out.write('.');
+            out.write(head, 0, headLength);
+            lineStart = head[headLength - 1] == '\n';
+            headLength = 0;
+        }
+    }
+
+    // ----------------- helpers -----------------
+
+    // A staff reference is either the numeric staffId or the email (anything with an '@')
+    private StaffMember findStaff(String ref) {
+        if (ref.indexOf('@') >= 0) return context.findStaffByEmail(ref);
+        return context.findStaff(Integer.parseInt(ref));
+    }
+
+    // A SEARCH column: tabs would shift the columns after it, so they are written as spaces
+    private static String column(String value) {
+        return String.valueOf(value).replace('\t', ' ');
+    }
+
+    private void result(Writer out, AssignmentResult result, String subject) throws IOException {
+        if (result.isSuccess()) {
+            out.write("OK\n");
+        } else {
+            error(out, result.name(), subject);
+        }
+    }
+
+    private void error(Writer out, String code, String message) throws IOException {
+        errors.increment();
+        out.write("ERR ");
+        out.write(code);
+        out.write(' ');
+        out.write(message.replace('\n', ' '));
+        out.write('\n');
+    }
+
+    private boolean expect(List<String> args, int count, String usage, Writer out) throws IOException {
+        if (args.size() == count) return true;
+        error(out, "BAD_ARGUMENTS", usage);
+        return false;
+    }
+
+    private static boolean isBlankOrComment(String line) {
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '#') return true;
+            if (c != ' ' && c != '\t' && c != '\r') return false;
+        }
+        return true;
+    }
+
+    // Splits on spaces/tabs; "quoted fields" keep their spaces, "" inside quotes is a quote
+    static List<String> tokenize(String line) {
+        List<String> tokens = new ArrayList<>(6);
+        int n = line.length();
+        int i = 0;
+        StringBuilder quoted = null;
+
+        while (i < n) {
+            char c = line.charAt(i);
+            if (c == ' ' || c == '\t' || c == '\r') {
+                i++;
+                continue;
+            }
+            if (c != '"') {
+                int start = i;
+                while (i < n && line.charAt(i) != ' ' && line.charAt(i) != '\t' && line.charAt(i) != '\r') i++;
+                tokens.add(line.substring(start, i));
+                continue;
+            }
+
+            if (quoted == null) quoted = new StringBuilder();
+            quoted.setLength(0);
+            i++;
+            while (i < n) {
+                c = line.charAt(i++);
+                if (c != '"') {
+                    quoted.append(c);
+                } else if (i < n && line.charAt(i) == '"') {
+                    quoted.append('"');
+                    i++;
+                } else {
+                    break;
+                }
+            }
+            tokens.add(quoted.toString());
+        }
+        return tokens;
+    }
+}
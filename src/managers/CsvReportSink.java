@@ -0,0 +1,90 @@
+package Managers;
+
+import java.io.IOException;
+import java.io.Writer;
+
+// RFC 4180 CSV: header row of column names, then one line per row
+// Values are quoted only when they contain a comma, quote or line break.
+class CsvReportSink extends WriterSink {
+
+    CsvReportSink(Writer out) {
+        super(out);
+    }
+
+    @Override
+    public void beginReport(String title, String... columns) throws IOException {
+        super.beginReport(title, columns);
+        beginRow();
+        for (String name : columns) value(name);
+        endRow();
+    }
+
+    @Override
+    WriterSink chunkSink(Writer out) {
+        CsvReportSink chunk = new CsvReportSink(out);
+        chunk.columns = columns;
+        return chunk;
+    }
+
+    @Override
+    public void value(String value) throws IOException {
+        separator();
+        if (value == null) return;
+
+        if (!needsQuotes(value)) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        int run = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                out.write(value, run, i + 1 - run);
+                out.write('"'); // "" inside a quoted field
+                run = i + 1;
+            }
+        }
+        out.write(value, run, value.length() - run);
+        out.write('"');
+    }
+
+    @Override
+    public void value(long value) throws IOException {
+        separator();
+        writeLong(value);
+    }
+
+    @Override
+    public void value(double value) throws IOException {
+        separator();
+        writeDecimal(value);
+    }
+
+    @Override
+    public void value(boolean value) throws IOException {
+        separator();
+        out.write(value ? "true" : "false");
+    }
+
+    @Override
+    public void endRow() throws IOException {
+        out.write("\r\n");
+    }
+
+    @Override
+    public void message(String text) {
+        // CSV has no place for remarks: an empty report is just the header
+    }
+
+    private void separator() throws IOException {
+        if (column++ > 0) out.write(',');
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') return true;
+        }
+        return false;
+    }
+}
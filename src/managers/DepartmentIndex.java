@@ -0,0 +1,103 @@
+package Managers;
+
+import models.StaffListener;
+import models.StaffMember;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Department -> staff index for the assignment reports
+// Departments keep the order they were first seen, staff the order they were added.
+// Blank departments are grouped under "Unknown" (same as the reports always did).
+// register() also listens for department changes so the grouping stays current.
+public class DepartmentIndex implements StaffListener {
+
+    private static final String UNKNOWN = "Unknown";
+
+    private final Map<String, Set<StaffMember>> byDepartment = new LinkedHashMap<>();
+
+    // Adds staff and keeps them grouped when setDepartment is called later
+    public synchronized void register(StaffMember staff) {
+        add(staff);
+        staff.setListener(this);
+    }
+
+    public synchronized void unregister(StaffMember staff) {
+        remove(staff, staff.getDepartment());
+        if (staff.getListener() == this) staff.setListener(null);
+    }
+
+    // One-off grouping of an array (no listeners attached)
+    static DepartmentIndex of(StaffMember[] staff, int count) {
+        DepartmentIndex index = new DepartmentIndex();
+        for (int i = 0; i < count; i++) {
+            if (staff[i] != null) index.add(staff[i]);
+        }
+        return index;
+    }
+
+    // Staff whose listener is someone else (StaffDirectory forwards department changes here)
+    synchronized void added(StaffMember staff) {
+        add(staff);
+    }
+
+    // IDs and emails are not indexed here
+    @Override
+    public void staffIdChanging(StaffMember staff, int newStaffId) {
+    }
+
+    @Override
+    public void emailChanging(StaffMember staff, String newEmail) {
+    }
+
+    @Override
+    public synchronized void departmentChanged(StaffMember staff, String oldDepartment) {
+        remove(staff, oldDepartment);
+        add(staff);
+    }
+
+    @Override
+    public void detailsChanged(StaffMember staff, int oldStaffId) {
+    }
+
+    // Departments in first-seen order
+    public synchronized String[] getDepartments() {
+        return byDepartment.keySet().toArray(new String[0]);
+    }
+
+    // Staff in one department (empty if there is none); only that department is read
+    public synchronized StaffMember[] getStaff(String department) {
+        Set<StaffMember> staff = byDepartment.get(key(department));
+        return (staff == null) ? new StaffMember[0] : staff.toArray(new StaffMember[0]);
+    }
+
+    // Every department with its staff, copied in one pass
+    public synchronized Map<String, List<StaffMember>> grouped() {
+        Map<String, List<StaffMember>> copy = new LinkedHashMap<>();
+        for (Map.Entry<String, Set<StaffMember>> entry : byDepartment.entrySet()) {
+            copy.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+        }
+        return copy;
+    }
+
+    static String key(String department) {
+        if (department == null || department.trim().isEmpty()) return UNKNOWN;
+        return department.trim();
+    }
+
+    private void add(StaffMember staff) {
+        byDepartment.computeIfAbsent(key(staff.getDepartment()), k -> new LinkedHashSet<>()).add(staff);
+    }
+
+    private void remove(StaffMember staff, String department) {
+        String key = key(department);
+        Set<StaffMember> staffInDept = byDepartment.get(key);
+        if (staffInDept == null) return;
+        staffInDept.remove(staff);
+        if (staffInDept.isEmpty()) byDepartment.remove(key);
+    }
+}
@@ -0,0 +1,178 @@
+package Managers;
+
+import models.AttributeDictionary;
+import models.Equipment;
+import models.StaffMember;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+// Growable struct-of-arrays storage behind InventoryManager
+// Row i is held as: items[i] (the object) + assetIds[i], warranty[i], categoryOrd[i], holders[i]
+// and bit i of available. assetIds[i] is the ID the manager's index holds for the row: during
+// setAssetId the index (and this column) change before the object's own field does.
+// Scans over the hot fields walk these primitive arrays instead of the Equipment objects.
+// Removed rows are cleared (items[i] == null) so row numbers stay stable for the indexes.
+// Rows are added under the manager's write lock; availability bits are CAS'd and holders
+// written lock-free, so both live in fixed segments that a resize never replaces.
+// The other columns are replaced together on growth and published through one volatile
+// reference: assign / return read a row's category holding only a staff lock, and must see
+// the current arrays (and what was written into them) rather than a copy grow() left behind.
+class EquipmentStore {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private static final class Columns {
+        final Equipment[] items;
+        final String[] assetIds;
+        final int[] warranty;
+        final int[] categoryOrd;        // -1 = no category
+
+        Columns(int capacity) {
+            items = new Equipment[capacity];
+            assetIds = new String[capacity];
+            warranty = new int[capacity];
+            categoryOrd = new int[capacity];
+        }
+
+        Columns(Columns from, int capacity) {
+            items = Arrays.copyOf(from.items, capacity);
+            assetIds = Arrays.copyOf(from.assetIds, capacity);
+            warranty = Arrays.copyOf(from.warranty, capacity);
+            categoryOrd = Arrays.copyOf(from.categoryOrd, capacity);
+        }
+    }
+
+    private volatile Columns columns;   // written only under the manager's write lock
+    private final SegmentedArray<StaffMember> holders = new SegmentedArray<>(); // null = not assigned
+    private final AtomicBitSet available = new AtomicBitSet();
+    private int size;
+    private int liveCount;              // rows not cleared
+
+    // Category ordinals: this store's categories numbered 0.. in first-seen order, looked up by
+    // their case-insensitive key in the shared AttributeDictionary.CATEGORIES (an int, no String work)
+    private String[] categoryNames = new String[8];     // ordinal -> key (trimmed + uppercased)
+    private int categoryCount;
+    private int[] ordinalByKey = new int[16];           // dictionary key -> ordinal + 1 (0 = not seen)
+
+    EquipmentStore(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, DEFAULT_CAPACITY);
+        columns = new Columns(capacity);
+        holders.ensureCapacity(capacity);
+    }
+
+    // Appends a row and returns its number
+    int add(Equipment equipment) {
+        if (size == columns.items.length) grow();
+        available.ensureCapacity(size + 1);
+        holders.ensureCapacity(size + 1);
+
+        Columns c = columns;
+        int row = size++;
+        liveCount++;
+        c.items[row] = equipment;
+        c.assetIds[row] = equipment.getAssetId();
+        c.warranty[row] = equipment.getWarrantyMonths();
+        c.categoryOrd[row] = ordinalFor(equipment.getCategoryKey());
+        available.set(row, equipment.isAvailable());
+        return row;
+    }
+
+    // Pre-sizes the columns for a bulk load
+    void ensureCapacity(int rows) {
+        if (rows > columns.items.length) columns = new Columns(columns, rows);
+        available.ensureCapacity(rows);
+        holders.ensureCapacity(rows);
+    }
+
+    void clear(int row) {
+        Columns c = columns;
+        if (c.items[row] != null) liveCount--;
+        c.items[row] = null;
+        c.assetIds[row] = null;
+        c.categoryOrd[row] = -1;
+        holders.set(row, null);
+        available.set(row, false);
+    }
+
+    Equipment get(int row) { return columns.items[row]; }
+    int size() { return size; }
+    int liveCount() { return liveCount; }
+
+    String assetId(int row) { return columns.assetIds[row]; }
+    void setAssetId(int row, String assetId) { columns.assetIds[row] = assetId; }
+
+    int warranty(int row) { return columns.warranty[row]; }
+    void setWarranty(int row, int months) { columns.warranty[row] = months; }
+
+    int categoryOrdinal(int row) { return columns.categoryOrd[row]; }
+    void setCategory(int row, int categoryKey) { columns.categoryOrd[row] = ordinalFor(categoryKey); }
+
+    StaffMember holder(int row) { return holders.get(row); }
+    void setHolder(int row, StaffMember staff) { holders.set(row, staff); }
+
+    boolean isAvailable(int row) { return available.get(row); }
+    void setAvailable(int row, boolean isAvailable) { available.set(row, isAvailable); }
+
+    // Atomic flip of one row's availability (false if another thread got there first)
+    boolean compareAndSetAvailable(int row, boolean expect, boolean update) {
+        return available.compareAndSet(row, expect, update);
+    }
+
+    // rows AND the availability column (see AtomicBitSet.and)
+    BitSet availableOf(BitSet rows) { return available.and(rows); }
+
+    // Rows [0, size) as they are now, for a snapshot: the object and asset ID columns are copied
+    // as references (no per-row work) and availability one word per 64 rows
+    static final class Cut {
+        final Equipment[] items;    // null = removed row
+        final String[] assetIds;
+        final BitSet available;
+
+        private Cut(EquipmentStore store) {
+            Columns c = store.columns;
+            items = Arrays.copyOf(c.items, store.size);
+            assetIds = Arrays.copyOf(c.assetIds, store.size);
+            available = store.available.snapshot(store.size);
+        }
+    }
+
+    // Only exact while nothing is added, removed, renamed, assigned or returned (the manager's pause)
+    Cut cut() { return new Cut(this); }
+
+    // ---------------- category dictionary ----------------
+
+    static String categoryKey(String category) {
+        return (category == null) ? null : category.trim().toUpperCase();
+    }
+
+    // Ordinal of an existing category (-1 if never seen)
+    int ordinalOf(String category) {
+        int key = AttributeDictionary.CATEGORIES.keyOf(category);
+        return (key == AttributeDictionary.NONE || key >= ordinalByKey.length) ? -1 : ordinalByKey[key] - 1;
+    }
+
+    String categoryName(int ordinal) { return categoryNames[ordinal]; }
+    int categoryCount() { return categoryCount; }
+
+    // Ordinal for a category key, registering it if new
+    private int ordinalFor(int categoryKey) {
+        if (categoryKey == AttributeDictionary.NONE) return -1;
+        if (categoryKey >= ordinalByKey.length) {
+            ordinalByKey = Arrays.copyOf(ordinalByKey, Math.max(categoryKey + 1, ordinalByKey.length * 2));
+        }
+        if (ordinalByKey[categoryKey] > 0) return ordinalByKey[categoryKey] - 1;
+
+        if (categoryCount == categoryNames.length) {
+            categoryNames = Arrays.copyOf(categoryNames, categoryCount * 2);
+        }
+        categoryNames[categoryCount] = categoryKey(AttributeDictionary.CATEGORIES.decode(categoryKey));
+        ordinalByKey[categoryKey] = categoryCount + 1;
+        return categoryCount++;
+    }
+
+    private void grow() {
+        int length = columns.items.length;
+        columns = new Columns(columns, length + (length >> 1)); // 1.5x like ArrayList
+    }
+}
@@ -0,0 +1,37 @@
+package Managers;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Result of InventoryManager.calculateMaintenanceFees
+// fees are aligned with the ledger entries; unknown assets are charged 0
+public class FeeReport {
+
+    private final double[] fees;
+    private final double total;
+    private final Map<String, Double> departmentTotals;
+    private final double unassignedTotal;
+    private final int unknownAssets;
+
+    FeeReport(double[] fees, double total, Map<String, Double> departmentTotals, double unassignedTotal,
+              int unknownAssets) {
+        this.fees = fees;
+        this.total = total;
+        this.departmentTotals = departmentTotals;
+        this.unassignedTotal = unassignedTotal;
+        this.unknownAssets = unknownAssets;
+    }
+
+    public double getFee(int entry) { return fees[entry]; }
+    public double getTotal() { return total; }
+
+    // Department of the staff member holding each item, in the order each department first
+    // appears in the ledger (items nobody holds are not in here: see getUnassignedTotal)
+    public Map<String, Double> getDepartmentTotals() { return new LinkedHashMap<>(departmentTotals); }
+
+    // Fees of items nobody holds (kept apart so no real department name can clash with them)
+    public double getUnassignedTotal() { return unassignedTotal; }
+
+    // Ledger entries whose asset is not in the inventory
+    public int getUnknownAssets() { return unknownAssets; }
+}
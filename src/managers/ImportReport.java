@@ -0,0 +1,53 @@
+package Managers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Outcome of one bulk import: counts per outcome + the first MAX_ERRORS problem rows
+public class ImportReport {
+
+    private static final int MAX_ERRORS = 100;
+
+    private int accepted;
+    private int duplicates;
+    private int malformed;
+    private final List<String> errors = new ArrayList<>();
+    private long elapsedNanos;
+
+    void accepted(int count) { accepted += count; }
+
+    void duplicate(long line, String id) {
+        duplicates++;
+        error(line, "duplicate asset ID " + id);
+    }
+
+    void malformed(long line, String reason) {
+        malformed++;
+        error(line, reason);
+    }
+
+    void setElapsedNanos(long elapsedNanos) { this.elapsedNanos = elapsedNanos; }
+
+    public int getAccepted() { return accepted; }
+    public int getDuplicates() { return duplicates; }
+    public int getMalformed() { return malformed; }
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    // "line N: reason" for the first MAX_ERRORS rejected rows
+    public List<String> getErrors() { return errors; }
+
+    public double rowsPerSecond() {
+        long rows = (long) accepted + duplicates + malformed;
+        return (elapsedNanos == 0) ? 0 : rows * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    private void error(long line, String reason) {
+        if (errors.size() < MAX_ERRORS) errors.add("line " + line + ": " + reason);
+    }
+
+    @Override
+    public String toString() {
+        return "Imported " + accepted + " items (" + duplicates + " duplicates, "
+                + malformed + " malformed rows skipped)";
+    }
+}
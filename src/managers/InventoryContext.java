@@ -0,0 +1,24 @@
+package Managers;
+
+import models.Equipment;
+import models.StaffMember;
+
+// What a CommandProcessor needs from the application around the InventoryManager:
+// the staff list and the item list it reports over. Implementations must be thread-safe
+// (the server calls them from every connection at once).
+public interface InventoryContext {
+
+    StaffMember findStaff(int staffId);
+
+    // Null if no staff member has this email (matched case-insensitively)
+    StaffMember findStaffByEmail(String email);
+
+    // False if the staff member could not be registered (staffId or email taken)
+    boolean registerStaff(StaffMember staff);
+
+    // Equipment the manager has just accepted: add it to the application's own lists
+    void equipmentAdded(Equipment equipment);
+
+    // Reports over the items and staff as they are now
+    InventoryReports reports();
+}
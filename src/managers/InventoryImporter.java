@@ -0,0 +1,291 @@
+package Managers;
+
+import models.Equipment;
+import models.Furniture;
+import models.InventoryItem;
+import models.LabEquipment;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Streaming CSV import for Equipment, Furniture and LabEquipment
+//
+// One row per item:  type,id,name,available,<type fields>
+//   EQUIPMENT : brand,warrantyMonths,category
+//   FURNITURE : roomNumber,material
+//   LAB       : labName,calibrationDate
+// An optional header row (starting with "type") is skipped. Fields may be quoted ("a, b"),
+// with "" for a quote inside. Empty available means true.
+//
+// The file is read through a fixed char buffer and parsed in place, so memory stays flat
+// however long the file is. Equipment is handed to the manager in CHUNK-sized batches
+// (InventoryManager.addEquipmentBulk) so the indexes are built per chunk, not per row.
+// Furniture / LabEquipment go to the ItemStore if one is set, which can refuse a taken ID.
+// Bad rows are counted in the report and skipped; they never stop the load.
+public class InventoryImporter {
+
+    // Where Furniture / LabEquipment rows go (the manager only holds Equipment)
+    public interface ItemStore {
+        // Adds the item; false if its ID is already taken
+        boolean add(InventoryItem item);
+    }
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_FIELDS = 8;
+    private static final int MAX_FIELD_LENGTH = 4096;
+    private static final int CHUNK = 1 << 16;
+
+    private final InventoryManager manager;
+    private ItemStore itemStore;
+
+    // Parser state
+    private final char[] buf = new char[BUFFER_SIZE];
+    private int pos;
+    private int limit;
+    private final char[] field = new char[MAX_FIELD_LENGTH];
+    private final String[] fields = new String[MAX_FIELDS];
+    private int fieldCount;
+    private String rowError;
+    private long line;
+
+    // Equipment waiting for the next bulk add (+ the line each came from)
+    private final Equipment[] pending = new Equipment[CHUNK];
+    private final long[] pendingLines = new long[CHUNK];
+    private int pendingCount;
+
+    public InventoryImporter(InventoryManager manager) {
+        this.manager = manager;
+    }
+
+    // Without a store, Furniture / LabEquipment rows only go to the imported list
+    public void setItemStore(ItemStore itemStore) {
+        this.itemStore = itemStore;
+    }
+
+    public ImportReport importFile(Path file, List<InventoryItem> imported) throws IOException {
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return importCsv(in, imported);
+        }
+    }
+
+    // Adds every valid Equipment row to the manager; every accepted item (all three types)
+    // is also appended to imported when it is not null
+    public ImportReport importCsv(Reader in, List<InventoryItem> imported) throws IOException {
+        ImportReport report = new ImportReport();
+        Set<String> seen = new HashSet<>();
+        long start = System.nanoTime();
+
+        pos = 0;
+        limit = 0;
+        line = 0;
+        pendingCount = 0;
+
+        while (readRow(in)) {
+            if (fieldCount == 1 && fields[0].isEmpty()) continue; // blank line
+            if (line == 1 && fields[0].trim().equalsIgnoreCase("type")) continue; // header
+
+            if (rowError != null) {
+                report.malformed(line, rowError);
+                continue;
+            }
+
+            InventoryItem item = toItem(report);
+            if (item == null) continue;
+
+            if (!seen.add(item.getId())) {
+                report.duplicate(line, item.getId());
+                continue;
+            }
+
+            if (item instanceof Equipment) {
+                // IDs already in the manager are caught by the bulk add
+                pendingLines[pendingCount] = line;
+                pending[pendingCount++] = (Equipment) item;
+                if (pendingCount == CHUNK) flush(report, imported);
+            } else if (itemStore != null && !itemStore.add(item)) {
+                report.duplicate(line, item.getId()); // taken by an item from before this file
+            } else {
+                report.accepted(1);
+                if (imported != null) imported.add(item);
+            }
+        }
+        flush(report, imported);
+
+        report.setElapsedNanos(System.nanoTime() - start);
+        return report;
+    }
+
+    // Builds the item for the row in fields (null + malformed entry if a field is bad)
+    private InventoryItem toItem(ImportReport report) {
+        if (fieldCount < 4) {
+            report.malformed(line, "expected at least 4 fields, found " + fieldCount);
+            return null;
+        }
+
+        String type = fields[0].trim().toUpperCase();
+        String id = fields[1].trim();
+        String name = fields[2].trim();
+        if (id.isEmpty()) {
+            report.malformed(line, "missing id");
+            return null;
+        }
+
+        Boolean available = parseAvailable(fields[3].trim());
+        if (available == null) {
+            report.malformed(line, "bad available value '" + fields[3] + "'");
+            return null;
+        }
+
+        switch (type) {
+            case "EQUIPMENT": {
+                if (!hasFields(report, 7, type)) return null;
+                int warranty;
+                try {
+                    warranty = Integer.parseInt(fields[5].trim());
+                } catch (NumberFormatException e) {
+                    report.malformed(line, "bad warrantyMonths '" + fields[5] + "'");
+                    return null;
+                }
+                if (warranty < 0) {
+                    report.malformed(line, "negative warrantyMonths");
+                    return null;
+                }
+                String category = fields[6].trim();
+                return new Equipment(id, name, available, fields[4].trim(), warranty,
+                        category.isEmpty() ? null : category);
+            }
+            case "FURNITURE":
+                if (!hasFields(report, 6, type)) return null;
+                return new Furniture(id, name, available, fields[4].trim(), fields[5].trim());
+            case "LAB":
+            case "LABEQUIPMENT":
+                if (!hasFields(report, 6, type)) return null;
+                return new LabEquipment(id, name, available, fields[4].trim(), fields[5].trim());
+            default:
+                report.malformed(line, "unknown type '" + fields[0] + "'");
+                return null;
+        }
+    }
+
+    private boolean hasFields(ImportReport report, int expected, String type) {
+        if (fieldCount == expected) return true;
+        report.malformed(line, type + " rows need " + expected + " fields, found " + fieldCount);
+        return false;
+    }
+
+    private static Boolean parseAvailable(String value) {
+        if (value.isEmpty() || value.equalsIgnoreCase("true") || value.equalsIgnoreCase("yes") || value.equals("1")) {
+            return Boolean.TRUE;
+        }
+        if (value.equalsIgnoreCase("false") || value.equalsIgnoreCase("no") || value.equals("0")) {
+            return Boolean.FALSE;
+        }
+        return null;
+    }
+
+    // Bulk-adds the pending equipment; rejected entries come back as null
+    private void flush(ImportReport report, List<InventoryItem> imported) {
+        if (pendingCount == 0) return;
+
+        Equipment[] batch = Arrays.copyOf(pending, pendingCount);
+        report.accepted(manager.addEquipmentBulk(batch, pendingCount));
+        for (int i = 0; i < pendingCount; i++) {
+            if (batch[i] == null) {
+                report.duplicate(pendingLines[i], pending[i].getAssetId());
+            } else if (imported != null) {
+                imported.add(batch[i]);
+            }
+        }
+        Arrays.fill(pending, 0, pendingCount, null);
+        pendingCount = 0;
+    }
+
+    // ---------------- CSV parsing ----------------
+
+    // Reads one row into fields / fieldCount; false at end of input.
+    // A row that breaks a limit is still consumed to its end, with rowError set.
+    private boolean readRow(Reader in) throws IOException {
+        if (!fill(in)) return false;
+
+        line++;
+        fieldCount = 0;
+        rowError = null;
+        int length = 0;
+        boolean quoted = false;
+        boolean fieldStart = true;
+
+        while (true) {
+            if (pos == limit && !fill(in)) {
+                if (quoted) setError("unterminated quote");
+                break;
+            }
+            char c = buf[pos++];
+
+            if (quoted) {
+                if (c == '"') {
+                    if (pos == limit) fill(in);
+                    if (pos < limit && buf[pos] == '"') {
+                        pos++;              // "" inside quotes
+                    } else {
+                        quoted = false;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    line++;                 // newline inside a quoted field
+                }
+            } else if (c == ',') {
+                endField(length);
+                length = 0;
+                fieldStart = true;
+                continue;
+            } else if (c == '\n') {
+                break;
+            } else if (c == '\r') {
+                continue;
+            } else if (c == '"' && fieldStart) {
+                quoted = true;
+                fieldStart = false;
+                continue;
+            }
+
+            fieldStart = false;
+            if (length < MAX_FIELD_LENGTH) {
+                field[length++] = c;
+            } else {
+                setError("field longer than " + MAX_FIELD_LENGTH + " characters");
+            }
+        }
+        endField(length);
+        return true;
+    }
+
+    private void endField(int length) {
+        if (fieldCount < MAX_FIELDS) {
+            fields[fieldCount] = new String(field, 0, length);
+        } else {
+            setError("more than " + MAX_FIELDS + " fields");
+        }
+        fieldCount++;
+    }
+
+    private void setError(String reason) {
+        if (rowError == null) rowError = reason;
+    }
+
+    // Makes sure there is at least one unread char; false at end of input
+    private boolean fill(Reader in) throws IOException {
+        if (pos < limit) return true;
+        int n = in.read(buf, 0, buf.length);
+        if (n <= 0) return false;
+        pos = 0;
+        limit = n;
+        return true;
+    }
+}
@@ -0,0 +1,655 @@
+package Managers;
+
+import exceptions.InventoryException;
+import models.Equipment;
+import models.Furniture;
+import models.InventoryItem;
+import models.LabEquipment;
+import models.StaffMember;
+import models.StaffRole;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+// Append-only binary journal of inventory events (write-ahead log)
+//
+// File layout: fixed-size regions, each memory-mapped while it is being written.
+// Record: [int payloadLength][byte type][payload][int crc32(type + payload)]
+//   length  0 = end of journal (regions start zero-filled)
+//   length -1 = rest of this region unused, continue at the next region
+// The length is written last, so a torn record reads as the end of the journal.
+//
+// Segments: positions run on across files. The journal file itself holds the records from
+// position 0; rotate() continues in a new file "<journal file>.<start position>" from the next
+// region boundary, and deleteBefore() drops the files a snapshot has made obsolete.
+//
+// Durability uses group commit: a background flusher forces the mapped pages and
+// every writer waiting in awaitDurable() is released by the same force().
+//
+// Writers encode and checksum a record in their own thread's buffer; the journal lock only
+// covers placing it in the region, so callers that log inside their own locks hold it briefly.
+public class InventoryJournal implements Closeable {
+
+    static final int REGION_SIZE = 4 * 1024 * 1024;
+    private static final int SKIP_REGION = -1;
+    private static final int HEADER = 5;   // length + type
+    private static final int TRAILER = 4;  // crc
+
+    // Record types
+    static final byte ADD_EQUIPMENT = 1;
+    static final byte REMOVE_EQUIPMENT = 2;
+    static final byte REGISTER_STAFF = 3;
+    static final byte ASSIGN = 4;          // staffId, assetId, assignedAt millis (missing in older journals)
+    static final byte RETURN = 5;
+    static final byte SET_NAME = 6;
+    static final byte SET_CATEGORY = 7;
+    static final byte SET_WARRANTY = 8;
+    static final byte SET_BRAND = 9;
+    static final byte SET_ASSET_ID = 10;
+    static final byte UPDATE_STAFF = 11;   // old staffId + every staff field
+    static final byte ADD_ITEM = 12;       // Furniture / LabEquipment (kept outside the manager)
+
+    private static final String[] RECORD_NAMES = {"?", "ADD_EQUIPMENT", "REMOVE_EQUIPMENT", "REGISTER_STAFF",
+            "ASSIGN", "RETURN", "SET_NAME", "SET_CATEGORY", "SET_WARRANTY", "SET_BRAND", "SET_ASSET_ID",
+            "UPDATE_STAFF", "ADD_ITEM"};
+
+    private final Path file;
+    private final boolean syncCommit;
+    private final long flushIntervalMillis;
+
+    // Record being encoded by the calling thread: [length][type] are left for append() to fill
+    private static final ThreadLocal<ByteBuffer> SCRATCH = ThreadLocal.withInitial(() -> ByteBuffer.allocate(256));
+
+    // Append state (guarded by this)
+    private FileChannel channel;    // the last segment
+    private long segmentStart;      // its first position (a region boundary)
+    private MappedByteBuffer region;
+    private int regionIndex;
+    private final List<MappedByteBuffer> unflushed = new ArrayList<>();
+    private volatile long writtenPosition; // written under this, read by the flusher
+
+    // Group commit state (guarded by flushMonitor)
+    private final Object flushMonitor = new Object();
+    private long durablePosition;
+    private boolean flushRequested;
+    private volatile boolean closed;
+    private final Thread flusher;
+
+    private InventoryJournal(Path file, boolean syncCommit, long flushIntervalMillis) throws IOException {
+        this.file = file;
+        this.syncCommit = syncCommit;
+        this.flushIntervalMillis = flushIntervalMillis;
+
+        List<Long> starts = segmentStarts(file);
+        this.segmentStart = starts.isEmpty() ? 0 : starts.get(starts.size() - 1);
+        this.channel = FileChannel.open(segmentPath(file, segmentStart),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        long end = scan(channel, segmentStart, null, segmentStart);
+        this.regionIndex = (int) (end / REGION_SIZE);
+        this.region = mapRegion(regionIndex);
+
+        // Clear anything after the last good record (e.g. a torn write)
+        int offset = (int) (end % REGION_SIZE);
+        for (int i = offset; i < REGION_SIZE; i++) {
+            if (region.get(i) != 0) {
+                for (int j = offset; j < REGION_SIZE; j++) region.put(j, (byte) 0);
+                break;
+            }
+        }
+        region.position(offset);
+        this.writtenPosition = end;
+        this.durablePosition = end;
+
+        this.flusher = new Thread(this::flushLoop, "inventory-journal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    // syncCommit = true: awaitDurable() blocks until the event is on disk
+    // syncCommit = false: events reach disk within flushIntervalMillis
+    public static InventoryJournal open(Path file, boolean syncCommit, long flushIntervalMillis) throws IOException {
+        return new InventoryJournal(file, syncCommit, flushIntervalMillis);
+    }
+
+    public static InventoryJournal open(Path file) throws IOException {
+        return open(file, true, 2);
+    }
+
+    // ---------------- EVENTS ----------------
+
+    public long logAdd(Equipment eq) {
+        ByteBuffer b = begin();
+        b = putString(b, eq.getAssetId());
+        b = putString(b, eq.getName());
+        b = ensure(b, 5);
+        b.put((byte) (eq.isAvailable() ? 1 : 0));
+        b.putInt(eq.getWarrantyMonths());
+        b = putString(b, eq.getBrand());
+        b = putString(b, eq.getCategory());
+        return append(ADD_EQUIPMENT, b);
+    }
+
+    public long logRemove(String assetId) {
+        return append(REMOVE_EQUIPMENT, putString(begin(), assetId));
+    }
+
+    public long logStaff(StaffMember staff) {
+        return append(REGISTER_STAFF, putStaff(begin(), staff.getStaffId(), staff));
+    }
+
+    // Any change to a registered staff member; oldStaffId is its ID before the change
+    public long logStaffUpdate(int oldStaffId, StaffMember staff) {
+        return logStaffUpdate(oldStaffId, staff.getStaffId(), staff);
+    }
+
+    // A staff ID change, logged before staff shows newStaffId
+    public long logStaffUpdate(int oldStaffId, int newStaffId, StaffMember staff) {
+        ByteBuffer b = begin();
+        b.putInt(oldStaffId);
+        return append(UPDATE_STAFF, putStaff(b, newStaffId, staff));
+    }
+
+    // Furniture / LabEquipment (Equipment goes through logAdd)
+    public long logItem(InventoryItem item) {
+        ByteBuffer b = begin();
+        String first;
+        String second;
+        if (item instanceof Furniture) {
+            b.put(InventorySnapshot.KIND_FURNITURE);
+            first = ((Furniture) item).getRoomNumber();
+            second = ((Furniture) item).getMaterial();
+        } else if (item instanceof LabEquipment) {
+            b.put(InventorySnapshot.KIND_LAB);
+            first = ((LabEquipment) item).getLabName();
+            second = ((LabEquipment) item).getCalibrationDate();
+        } else {
+            throw new IllegalArgumentException("Cannot journal item type: " + item.getItemType());
+        }
+        b = putString(b, item.getId());
+        b = putString(b, item.getName());
+        b = ensure(b, 1);
+        b.put((byte) (item.isAvailable() ? 1 : 0));
+        b = putString(b, first);
+        b = putString(b, second);
+        return append(ADD_ITEM, b);
+    }
+
+    public long logAssign(int staffId, String assetId, Instant assignedAt) {
+        ByteBuffer b = begin();
+        b.putInt(staffId);
+        b = putString(b, assetId);
+        b = ensure(b, 8);
+        b.putLong(assignedAt.toEpochMilli());
+        return append(ASSIGN, b);
+    }
+
+    public long logReturn(int staffId, String assetId) {
+        ByteBuffer b = begin();
+        b.putInt(staffId);
+        return append(RETURN, putString(b, assetId));
+    }
+
+    public long logName(String assetId, String name) {
+        return append(SET_NAME, putString(putString(begin(), assetId), name));
+    }
+
+    public long logCategory(String assetId, String category) {
+        return append(SET_CATEGORY, putString(putString(begin(), assetId), category));
+    }
+
+    public long logWarranty(String assetId, int warrantyMonths) {
+        ByteBuffer b = putString(begin(), assetId);
+        b = ensure(b, 4);
+        b.putInt(warrantyMonths);
+        return append(SET_WARRANTY, b);
+    }
+
+    public long logBrand(String assetId, String brand) {
+        return append(SET_BRAND, putString(putString(begin(), assetId), brand));
+    }
+
+    public long logAssetId(String oldAssetId, String newAssetId) {
+        return append(SET_ASSET_ID, putString(putString(begin(), oldAssetId), newAssetId));
+    }
+
+    // Waits until everything up to position is on disk (no-op unless syncCommit)
+    public void awaitDurable(long position) {
+        if (!syncCommit) return;
+        synchronized (flushMonitor) {
+            flushRequested = true;
+            flushMonitor.notifyAll();
+            while (durablePosition < position && !closed) {
+                try {
+                    flushMonitor.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // ---------------- REPLAY ----------------
+
+    // Rebuilds the manager, the registered staff (keyed by staffId) and the Furniture /
+    // LabEquipment (otherItems) from the journal. Records that cannot be applied are skipped,
+    // with one message each in skipped. The manager must not have this journal attached.
+    public void replayInto(InventoryManager manager, Map<Integer, StaffMember> staff,
+                           List<InventoryItem> otherItems, List<String> skipped) throws IOException {
+        replayInto(manager, staff, otherItems, 0, skipped);
+    }
+
+    // Replays only the records after fromPosition (e.g. the tail after a snapshot)
+    // Records already reflected in staff / otherItems (a snapshot taken mid-way) are not applied twice.
+    public void replayInto(InventoryManager manager, Map<Integer, StaffMember> staff, List<InventoryItem> otherItems,
+                           long fromPosition, List<String> skipped) throws IOException {
+        Set<String> otherIds = new HashSet<>();
+        for (InventoryItem item : otherItems) otherIds.add(item.getId());
+        RecordVisitor visitor = (type, p) -> {
+            try {
+                apply(type, p, manager, staff, otherItems, otherIds);
+            } catch (InventoryException | RuntimeException e) {
+                // The event was valid when it was logged; skip it rather than abort the restore
+                skipped.add(recordName(type) + ": " + e.getMessage());
+            }
+        };
+
+        List<Long> starts = segmentStarts(file);
+        if (!starts.isEmpty() && fromPosition < starts.get(0)) {
+            // Only a snapshot at or after the first segment can stand in for the deleted ones
+            skipped.add("journal before position " + starts.get(0) + " was deleted, replaying from there");
+        }
+        for (int i = 0; i < starts.size(); i++) {
+            long start = starts.get(i);
+            long next = (i + 1 < starts.size()) ? starts.get(i + 1) : Long.MAX_VALUE;
+            if (next <= fromPosition) continue;
+            long from = Math.max(fromPosition, start);
+            if (start == segmentStart) {
+                scan(channel, start, visitor, from);
+            } else {
+                try (FileChannel segment = FileChannel.open(segmentPath(file, start), StandardOpenOption.READ)) {
+                    scan(segment, start, visitor, from);
+                }
+            }
+        }
+    }
+
+    // Continues the journal in a new segment and returns its start position, which no record
+    // precedes in the new file. Taken inside a snapshot's pause, that is the snapshot's replay
+    // start: once the snapshot is saved, deleteBefore(start) drops the segments before it.
+    public synchronized long rotate() throws IOException {
+        if (closed) throw new IllegalStateException("Journal is closed");
+        long start = (long) (regionIndex + 1) * REGION_SIZE;
+        FileChannel next = FileChannel.open(segmentPath(file, start),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        region.putInt(region.position(), SKIP_REGION);
+        unflushed.add(region); // stays mapped (and forceable) after its channel is closed
+        channel.close();
+        channel = next;
+        segmentStart = start;
+        regionIndex++;
+        region = mapRegion(regionIndex);
+        writtenPosition = start;
+        return start;
+    }
+
+    // Deletes the segments that end at or before position (e.g. a saved snapshot's journal
+    // position). A segment that cannot be deleted now is tried again on the next call.
+    public void deleteBefore(long position) {
+        List<Long> starts;
+        try {
+            starts = segmentStarts(file);
+        } catch (IOException e) {
+            return;
+        }
+        for (int i = 0; i + 1 < starts.size() && starts.get(i + 1) <= position; i++) {
+            try {
+                Files.deleteIfExists(segmentPath(file, starts.get(i)));
+            } catch (IOException e) {
+                // e.g. still mapped on a platform that refuses that: left for the next snapshot
+            }
+        }
+    }
+
+    // Position just after the last appended record
+    public long position() {
+        return writtenPosition();
+    }
+
+    private static void apply(byte type, ByteBuffer p, InventoryManager manager, Map<Integer, StaffMember> staff,
+                              List<InventoryItem> otherItems, Set<String> otherIds) throws InventoryException {
+        switch (type) {
+            case ADD_EQUIPMENT: {
+                String assetId = getString(p);
+                String name = getString(p);
+                boolean available = p.get() == 1;
+                int warranty = p.getInt();
+                String brand = getString(p);
+                String category = getString(p);
+                manager.addEquipmentToInventory(new Equipment(assetId, name, available, brand, warranty, category));
+                break;
+            }
+            case REMOVE_EQUIPMENT:
+                manager.removeEquipmentFromInventory(getString(p));
+                break;
+            case REGISTER_STAFF: {
+                StaffMember s = getStaff(p);
+                staff.putIfAbsent(s.getStaffId(), s);
+                break;
+            }
+            case UPDATE_STAFF: {
+                int oldStaffId = p.getInt();
+                StaffMember update = getStaff(p);
+                StaffMember s = staff.get(oldStaffId);
+                if (s == null) s = staff.get(update.getStaffId()); // snapshot already has the change
+                if (s == null) throw new IllegalStateException("Unknown staff in journal: " + oldStaffId);
+                if (s.getStaffId() != update.getStaffId()) {
+                    staff.remove(s.getStaffId());
+                    s.setStaffId(update.getStaffId());
+                    staff.put(s.getStaffId(), s);
+                }
+                s.setName(update.getName());
+                s.setEmail(update.getEmail());
+                s.setDepartment(update.getDepartment());
+                s.setRole(update.getRole());
+                break;
+            }
+            case ADD_ITEM: {
+                byte kind = p.get();
+                String id = getString(p);
+                String name = getString(p);
+                boolean available = p.get() == 1;
+                InventoryItem item;
+                if (kind == InventorySnapshot.KIND_FURNITURE) {
+                    item = new Furniture(id, name, available, getString(p), getString(p));
+                } else if (kind == InventorySnapshot.KIND_LAB) {
+                    item = new LabEquipment(id, name, available, getString(p), getString(p));
+                } else {
+                    throw new IllegalStateException("Unknown item kind in journal: " + kind);
+                }
+                if (otherIds.add(id)) otherItems.add(item); // skip items the snapshot already has
+                break;
+            }
+            case ASSIGN: {
+                StaffMember s = staff.get(p.getInt());
+                Equipment eq = manager.findEquipmentByAssetId(getString(p));
+                manager.restoreAssignment(s, eq, p.hasRemaining() ? Instant.ofEpochMilli(p.getLong()) : null);
+                break;
+            }
+            case RETURN: {
+                StaffMember s = staff.get(p.getInt());
+                manager.returnEquipment(s, getString(p));
+                break;
+            }
+            case SET_NAME:
+                equipment(manager, getString(p)).setName(getString(p));
+                break;
+            case SET_CATEGORY:
+                equipment(manager, getString(p)).setCategory(getString(p));
+                break;
+            case SET_WARRANTY:
+                equipment(manager, getString(p)).setWarrantyMonths(p.getInt());
+                break;
+            case SET_BRAND:
+                equipment(manager, getString(p)).setBrand(getString(p));
+                break;
+            case SET_ASSET_ID:
+                equipment(manager, getString(p)).setAssetId(getString(p));
+                break;
+            default:
+                // unknown record type from a newer version: skip it
+        }
+    }
+
+    // Staff fields as written by putStaff (older records have no role: STAFF)
+    private static StaffMember getStaff(ByteBuffer p) {
+        StaffMember s = new StaffMember(p.getInt(), getString(p), getString(p));
+        s.setDepartment(getString(p));
+        if (p.hasRemaining()) s.setRole(StaffRole.parse(getString(p)));
+        return s;
+    }
+
+    private static String recordName(byte type) {
+        return (type > 0 && type < RECORD_NAMES.length) ? RECORD_NAMES[type] : "record type " + type;
+    }
+
+    private static Equipment equipment(InventoryManager manager, String assetId) {
+        Equipment eq = manager.findEquipmentByAssetId(assetId);
+        if (eq == null) throw new IllegalStateException("Unknown asset in journal: " + assetId);
+        return eq;
+    }
+
+    // ---------------- CLOSE ----------------
+
+    @Override
+    public void close() throws IOException {
+        long end;
+        synchronized (this) {
+            end = writtenPosition();
+        }
+        flush(end);
+        closed = true;
+        synchronized (flushMonitor) {
+            flushMonitor.notifyAll();
+        }
+        flusher.interrupt();
+        channel.close();
+    }
+
+    // ---------------- INTERNALS ----------------
+
+    private ByteBuffer begin() {
+        ByteBuffer b = SCRATCH.get();
+        b.clear();
+        b.position(HEADER);
+        return b;
+    }
+
+    // Finishes the record encoded in record (type + crc, in this thread) and appends it
+    private long append(byte type, ByteBuffer record) {
+        int length = record.position() - HEADER;
+        record = ensure(record, TRAILER);
+        record.put(4, type);
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), 4, 1 + length);
+        record.putInt((int) crc.getValue());
+        return write(record.array(), length);
+    }
+
+    // Copies one encoded record into the mapped region, returns the journal position after it
+    private synchronized long write(byte[] record, int length) {
+        if (closed) throw new IllegalStateException("Journal is closed");
+        int recordSize = HEADER + length + TRAILER;
+        if (recordSize > REGION_SIZE - 4) throw new IllegalArgumentException("Journal record too large");
+
+        try {
+            if (region.remaining() < recordSize + 4) { // keep room for the next length / skip marker
+                region.putInt(region.position(), SKIP_REGION);
+                unflushed.add(region);
+                regionIndex++;
+                region = mapRegion(regionIndex);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not extend journal", e);
+        }
+
+        int start = region.position();
+        region.position(start + 4);
+        region.put(record, 4, recordSize - 4); // type, payload, crc
+        region.putInt(start, length); // last: makes the record visible
+
+        long end = (long) regionIndex * REGION_SIZE + region.position();
+        writtenPosition = end;
+        return end;
+    }
+
+    private long writtenPosition() {
+        return writtenPosition;
+    }
+
+    private void flushLoop() {
+        while (!closed) {
+            long target;
+            synchronized (flushMonitor) {
+                if (!flushRequested) {
+                    try {
+                        flushMonitor.wait(flushIntervalMillis);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                flushRequested = false;
+                target = writtenPosition;
+                if (target <= durablePosition) continue;
+            }
+            flush(target);
+        }
+    }
+
+    // One force() covers every record written so far (group commit)
+    private void flush(long target) {
+        MappedByteBuffer current;
+        List<MappedByteBuffer> full;
+        synchronized (this) {
+            current = region;
+            full = new ArrayList<>(unflushed);
+            unflushed.clear();
+        }
+        for (MappedByteBuffer buffer : full) buffer.force();
+        current.force();
+
+        synchronized (flushMonitor) {
+            if (target > durablePosition) durablePosition = target;
+            flushMonitor.notifyAll();
+        }
+    }
+
+    private MappedByteBuffer mapRegion(int index) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_WRITE, (long) index * REGION_SIZE - segmentStart, REGION_SIZE);
+    }
+
+    private static Path segmentPath(Path file, long start) {
+        return (start == 0) ? file : file.resolveSibling(file.getFileName() + "." + start);
+    }
+
+    // First positions of the segment files on disk, in order
+    private static List<Long> segmentStarts(Path file) throws IOException {
+        List<Long> starts = new ArrayList<>();
+        if (Files.exists(file)) starts.add(0L);
+        String prefix = file.getFileName() + ".";
+        Path dir = file.toAbsolutePath().getParent();
+        try (DirectoryStream<Path> siblings = Files.newDirectoryStream(dir, prefix + "*")) {
+            for (Path sibling : siblings) {
+                String suffix = sibling.getFileName().toString().substring(prefix.length());
+                if (!suffix.isEmpty() && suffix.chars().allMatch(Character::isDigit)) {
+                    starts.add(Long.parseLong(suffix));
+                }
+            }
+        }
+        Collections.sort(starts);
+        return starts;
+    }
+
+    private interface RecordVisitor {
+        void visit(byte type, ByteBuffer payload);
+    }
+
+    // Walks every valid record of the segment starting at segmentStart, from position from;
+    // returns the position just after the last one
+    private static long scan(FileChannel channel, long segmentStart, RecordVisitor visitor, long from) throws IOException {
+        CRC32 check = new CRC32();
+        long size = channel.size();
+        int index = (int) (from / REGION_SIZE);
+        int pos = (int) (from % REGION_SIZE);
+
+        while ((long) index * REGION_SIZE - segmentStart < size) {
+            long base = (long) index * REGION_SIZE;
+            long offset = base - segmentStart;
+            ByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(REGION_SIZE, size - offset));
+
+            while (true) {
+                if (pos + HEADER > buf.limit()) return base + pos;
+                int length = buf.getInt(pos);
+                if (length == SKIP_REGION) break;
+                if (length <= 0 || pos + HEADER + length + TRAILER > buf.limit()) return base + pos;
+
+                byte type = buf.get(pos + 4);
+                ByteBuffer payload = buf.duplicate();
+                payload.position(pos + HEADER).limit(pos + HEADER + length);
+                payload = payload.slice();
+
+                check.reset();
+                check.update(type);
+                check.update(payload.duplicate());
+                if ((int) check.getValue() != buf.getInt(pos + HEADER + length)) {
+                    return base + pos; // torn write: treat as the end
+                }
+
+                if (visitor != null) visitor.visit(type, payload);
+                pos += HEADER + length + TRAILER;
+            }
+            index++;
+            pos = 0;
+        }
+        return (long) index * REGION_SIZE;
+    }
+
+    private ByteBuffer ensure(ByteBuffer b, int extra) {
+        if (b.remaining() >= extra) return b;
+        ByteBuffer bigger = ByteBuffer.allocate(Math.max(b.capacity() * 2, b.position() + extra));
+        b.flip();
+        bigger.put(b);
+        SCRATCH.set(bigger);
+        return bigger;
+    }
+
+    private ByteBuffer putStaff(ByteBuffer b, int staffId, StaffMember staff) {
+        b = ensure(b, 4);
+        b.putInt(staffId);
+        b = putString(b, staff.getName());
+        b = putString(b, staff.getEmail());
+        b = putString(b, staff.getDepartment());
+        return putString(b, staff.getRole().name());
+    }
+
+    // Strings: int byte length (-1 = null) + UTF-8 bytes
+    private ByteBuffer putString(ByteBuffer b, String s) {
+        if (s == null) {
+            b = ensure(b, 4);
+            b.putInt(-1);
+            return b;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        b = ensure(b, 4 + bytes.length);
+        b.putInt(bytes.length);
+        b.put(bytes);
+        return b;
+    }
+
+    private static String getString(ByteBuffer p) {
+        int length = p.getInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        p.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -1,187 +1,1117 @@
-package Managers;
-
-import models.Equipment;
-import models.StaffMember;
-import exceptions.InventoryException;
-
-public class InventoryManager {
-
-    // Inventory stored as an array (simple + matches your assignment style)
-    private Equipment[] inventory;
-    private int inventoryCount;
-
-    public InventoryManager(int maxItems) {
-        this.inventory = new Equipment[maxItems];
-        this.inventoryCount = 0;
-    }
-
-    // Optional helper: add equipment into inventory
-    public void addEquipmentToInventory(Equipment equipment) {
-        if (equipment == null) return;
-        if (inventoryCount < inventory.length) {
-            inventory[inventoryCount] = equipment;
-            inventoryCount++;
-        }
-    }
-
-    // ---------------- TASK 4 REQUIRED METHODS ----------------
-
-    // assignEquipment: if-else checks availability + assignment limit
-    public void assignEquipment(StaffMember staff, Equipment equipment) throws InventoryException {
-        validateAssignment(staff, equipment);
-
-        // If validation passed, assign
-        staff.addAssignedEquipment(equipment);
-        equipment.setAvailable(false);
-    }
-
-    // returnEquipment: validate return and update availability
-    public void returnEquipment(StaffMember staff, String assetId) throws InventoryException {
-        if (staff == null) {
-            throw new InventoryException.StaffMemberNotFoundException("Staff member not found.");
-        }
-        if (assetId == null || assetId.trim().isEmpty()) {
-            throw new InventoryException("Asset ID cannot be empty.");
-        }
-
-        // Find the equipment inside staff assignments first (so we can set it available again)
-        Equipment found = null;
-        for (Equipment eq : staff.getAssignedEquipment()) {
-            if (eq != null && assetId.equals(eq.getAssetId())) {
-                found = eq;
-                break;
-            }
-        }
-
-        if (found == null) {
-            throw new InventoryException("This staff member does not have assetId: " + assetId);
-        }
-
-        // Remove from staff + mark available
-        staff.removeAssignedEquipment(assetId);
-        found.setAvailable(true);
-    }
-
-    // calculateMaintenanceFee: MUST use switch/if by category
-    public double calculateMaintenanceFee(Equipment equipment, int daysOverdue) {
-        if (equipment == null || daysOverdue <= 0) return 0.0;
-
-        String category = equipment.getCategory();
-        if (category == null) category = "OTHER";
-
-        double ratePerDay;
-
-        // Switch statement (required)
-        switch (category.trim().toUpperCase()) {
-            case "IT":
-                ratePerDay = 5.0;
-                break;
-            case "LAB":
-                ratePerDay = 12.0;
-                break;
-            case "AV":
-                ratePerDay = 8.0;
-                break;
-            default:
-                ratePerDay = 3.0;
-                break;
-        }
-
-        return ratePerDay * daysOverdue;
-    }
-
-    // Overloaded search #1: by name
-    public Equipment[] searchEquipment(String name) {
-        if (name == null) name = "";
-        String target = name.trim().toLowerCase();
-
-        Equipment[] results = new Equipment[inventoryCount];
-        int count = 0;
-
-        for (int i = 0; i < inventoryCount; i++) {
-            Equipment eq = inventory[i];
-            if (eq != null && eq.getName() != null &&
-                    eq.getName().toLowerCase().contains(target)) {
-                results[count++] = eq;
-            }
-        }
-
-        return trimResults(results, count);
-    }
-
-    // Overloaded search #2: by category (+ optional availableOnly)
-    public Equipment[] searchEquipment(String category, boolean availableOnly) {
-        if (category == null) category = "";
-        String target = category.trim().toLowerCase();
-
-        Equipment[] results = new Equipment[inventoryCount];
-        int count = 0;
-
-        for (int i = 0; i < inventoryCount; i++) {
-            Equipment eq = inventory[i];
-            if (eq == null) continue;
-
-            boolean categoryMatch = (eq.getCategory() != null) &&
-                    eq.getCategory().toLowerCase().contains(target);
-
-            boolean availabilityMatch = !availableOnly || eq.isAvailable();
-
-            if (categoryMatch && availabilityMatch) {
-                results[count++] = eq;
-            }
-        }
-
-        return trimResults(results, count);
-    }
-
-    // Overloaded search #3: by warranty range
-    public Equipment[] searchEquipment(int minWarranty, int maxWarranty) {
-        Equipment[] results = new Equipment[inventoryCount];
-        int count = 0;
-
-        for (int i = 0; i < inventoryCount; i++) {
-            Equipment eq = inventory[i];
-            if (eq == null) continue;
-
-            int w = eq.getWarrantyMonths();
-            if (w >= minWarranty && w <= maxWarranty) {
-                results[count++] = eq;
-            }
-        }
-
-        return trimResults(results, count);
-    }
-
-    // validateAssignment: nested if-else validation
-    public void validateAssignment(StaffMember staff, Equipment equipment) throws InventoryException {
-        if (staff == null) {
-            throw new InventoryException.StaffMemberNotFoundException("Staff member not found.");
-        } else {
-            if (equipment == null) {
-                throw new InventoryException("Equipment cannot be null.");
-            } else {
-                // Nested validation logic
-                if (!equipment.isAvailable()) {
-                    throw new InventoryException.EquipmentNotAvailableException(
-                            "Equipment is not available: " + equipment.getAssetId()
-                    );
-                } else {
-                    if (staff.getAssignedEquipmentCount() >= 5) {
-                        throw new InventoryException.AssignmentLimitExceededException(
-                                "Assignment limit exceeded. Max 5 items allowed."
-                        );
-                    }
-                }
-            }
-        }
-    }
-
-    // ---------------- HELPER ----------------
-    private Equipment[] trimResults(Equipment[] arr, int size) {
-        Equipment[] trimmed = new Equipment[size];
-        for (int i = 0; i < size; i++) {
-            trimmed[i] = arr[i];
-        }
-        return trimmed;
-    }
-}
+package Managers;
+
+import models.Equipment;
+import models.EquipmentListener;
+import models.StaffMember;
+import models.StaffRole;
+import exceptions.InventoryException;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+// Thread-safe: several desks can assign/return at the same time.
+// - add/remove/field changes take the index write lock, searches + reports the read lock
+// - assign/return skip that lock: availability is a per-row CAS and each staff member is
+//   guarded by one of STAFF_STRIPES locks, so the per-role item limit holds under races
+// - inside that lock they open / close the loan (LoanLedger shard of the item) and append to
+//   the journal; the journal lock, held for the copy of one record, is the only monitor all
+//   desks share (benchmarks.AssignmentStress --journal measures it)
+public class InventoryManager {
+
+    private static final int STAFF_STRIPES = 64; // power of 2
+    private static final long NOT_LOGGED = -1;
+
+    // calculateMaintenanceFees: ledger entries not grouped under a department
+    private static final int UNKNOWN_ASSET = -1;
+    private static final int NOT_HELD = -2;
+
+    // Shared, stackless rejections: their message never changes, so one instance serves every throw
+    private static final InventoryException NO_STAFF =
+            new InventoryException.StaffMemberNotFoundException("Staff member not found.", false);
+    private static final InventoryException NO_EQUIPMENT =
+            new InventoryException("Equipment cannot be null.", false);
+
+    // Inventory rows: growable columns for the hot fields (see EquipmentStore)
+    private EquipmentStore store;
+
+    // Hash index: assetId -> row in the store (O(1) lookups for assign/return)
+    private Map<String, Integer> assetIndex;
+    // Trigram index over names (substring search without a full scan)
+    private NameIndex nameIndex;
+    // Bitmaps per category + availability (filtered search and utilisation counts)
+    private CategoryIndex categoryIndex;
+    // Sorted warrantyMonths -> rows (range searches + expired bucket)
+    private WarrantyIndex warrantyIndex;
+    // Total / assigned per category, updated on every change (utilisation in O(categories))
+    private final CategoryCounters categoryCounters = new CategoryCounters();
+    private final EquipmentListener indexSync = new IndexSync();
+
+    // Most items one staff member may hold, by StaffRole ordinal (copy-on-write, read without locks)
+    private volatile int[] assignmentLimits = defaultLimits();
+    // Stackless limit rejection per role (the message names that role's limit)
+    private volatile InventoryException[] overLimit = overLimitErrors(assignmentLimits);
+
+    private final ReentrantReadWriteLock indexLock = new ReentrantReadWriteLock();
+    private final Object[] staffLocks = new Object[STAFF_STRIPES];
+
+    // Optional write-ahead journal: every change is logged before the caller continues
+    private volatile InventoryJournal journal;
+    // Optional loan ledger: due dates + overdue detection for every assignment
+    private volatile LoanLedger loans;
+    // Optional latency / rejection metrics (null = off, no timing at all)
+    private volatile InventoryMetrics metrics;
+    // Optional listener told about every change after the indexes (e.g. the MaintenanceScheduler)
+    private volatile EquipmentListener changeListener;
+
+    public InventoryManager() {
+        this(0);
+    }
+
+    // initialCapacity is only a sizing hint: the store grows as needed
+    public InventoryManager(int initialCapacity) {
+        this.store = new EquipmentStore(initialCapacity);
+        this.assetIndex = new ConcurrentHashMap<>();
+        this.nameIndex = new NameIndex();
+        this.categoryIndex = new CategoryIndex(store);
+        this.warrantyIndex = new WarrantyIndex();
+        for (int i = 0; i < STAFF_STRIPES; i++) {
+            staffLocks[i] = new Object();
+        }
+    }
+
+    // Optional helper: add equipment into inventory
+    // Returns false if the assetId is missing or already in use
+    public boolean addEquipmentToInventory(Equipment equipment) {
+        if (equipment == null || equipment.getAssetId() == null) return false;
+
+        long logged;
+        indexLock.writeLock().lock();
+        try {
+            if (assetIndex.containsKey(equipment.getAssetId())) return false;
+
+            int row = store.add(equipment);
+
+            nameIndex.add(row, equipment.getName());
+            categoryIndex.add(row);
+            warrantyIndex.add(row, store.warranty(row));
+            categoryCounters.added(store.categoryOrdinal(row), store.isAvailable(row));
+            equipment.setListener(indexSync);
+            assetIndex.put(equipment.getAssetId(), row); // last: publishes the row to assign/return
+            logged = (journal != null) ? journal.logAdd(equipment) : NOT_LOGGED;
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+        awaitDurable(logged);
+        return true;
+    }
+
+    // Bulk load: one lock and one journal wait for the whole batch
+    // Rows are appended first, then each index is built in its own pass over the new rows.
+    // Entries that have no assetId or reuse an assetId are skipped and set to null in batch,
+    // so the caller can tell which ones were rejected. Returns how many were added.
+    public int addEquipmentBulk(Equipment[] batch, int count) {
+        long logged = NOT_LOGGED;
+        int firstRow;
+        int lastRow;
+
+        indexLock.writeLock().lock();
+        try {
+            firstRow = store.size();
+            store.ensureCapacity(firstRow + count);
+
+            Set<String> batchIds = new HashSet<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                Equipment eq = batch[i];
+                if (eq == null) continue;
+                if (eq.getAssetId() == null || assetIndex.containsKey(eq.getAssetId()) || !batchIds.add(eq.getAssetId())) {
+                    batch[i] = null;
+                    continue;
+                }
+                store.add(eq);
+            }
+            lastRow = store.size();
+
+            for (int row = firstRow; row < lastRow; row++) nameIndex.add(row, store.get(row).getName());
+            for (int row = firstRow; row < lastRow; row++) categoryIndex.add(row);
+            for (int row = firstRow; row < lastRow; row++) warrantyIndex.add(row, store.warranty(row));
+            for (int row = firstRow; row < lastRow; row++) {
+                categoryCounters.added(store.categoryOrdinal(row), store.isAvailable(row));
+            }
+
+            for (int row = firstRow; row < lastRow; row++) {
+                Equipment eq = store.get(row);
+                eq.setListener(indexSync);
+                if (journal != null) logged = journal.logAdd(eq);
+            }
+            // Last: publishes the rows to assign/return (same as the single add)
+            for (int row = firstRow; row < lastRow; row++) assetIndex.put(store.get(row).getAssetId(), row);
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+        awaitDurable(logged);
+        return lastRow - firstRow;
+    }
+
+    // Removes equipment from the inventory (assigned equipment must be returned first)
+    // The row is left empty (null) so the other rows keep their positions
+    public boolean removeEquipmentFromInventory(String assetId) {
+        if (assetId == null) return false;
+
+        long logged;
+        Equipment equipment;
+        indexLock.writeLock().lock();
+        try {
+            Integer row = assetIndex.get(assetId);
+            if (row == null) return false;
+
+            // Claim the row so no desk can assign it while it is being removed
+            if (!store.compareAndSetAvailable(row, true, false)) return false;
+
+            equipment = store.get(row);
+            assetIndex.remove(assetId);
+            nameIndex.remove(row);
+            categoryIndex.remove(row);
+            warrantyIndex.remove(row, store.warranty(row));
+            categoryCounters.removed(store.categoryOrdinal(row), true); // it was available until the claim above
+            store.clear(row);
+            equipment.setListener(null);
+            logged = (journal != null) ? journal.logRemove(assetId) : NOT_LOGGED;
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+        awaitDurable(logged);
+        EquipmentListener l = changeListener;
+        if (l != null) l.removed(equipment);
+        return true;
+    }
+
+    // Every equipment currently in the inventory, in the order it was added
+    public Equipment[] getAllEquipment() {
+        indexLock.readLock().lock();
+        try {
+            int size = store.size();
+            Equipment[] all = new Equipment[size];
+            int count = 0;
+            for (int row = 0; row < size; row++) {
+                if (store.get(row) != null) all[count++] = store.get(row);
+            }
+            return Arrays.copyOf(all, count);
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    // Attach (or detach with null) the write-ahead journal
+    // Replay the journal into this manager before attaching it
+    public void setJournal(InventoryJournal journal) {
+        this.journal = journal;
+    }
+
+    public InventoryJournal getJournal() {
+        return journal;
+    }
+
+    // Attach (or detach with null) the loan ledger; only assignments made after this are tracked
+    public void setLoanLedger(LoanLedger loans) {
+        this.loans = loans;
+    }
+
+    public LoanLedger getLoanLedger() {
+        return loans;
+    }
+
+    // Attach (or detach with null) operation metrics
+    public void setMetrics(InventoryMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public InventoryMetrics getMetrics() {
+        return metrics;
+    }
+
+    // Attach (or detach with null) a listener for changes to equipment in this inventory
+    // It hears each change after the indexes are updated and no manager lock is held; removals
+    // come through EquipmentListener.removed.
+    public void setChangeListener(EquipmentListener listener) {
+        this.changeListener = listener;
+    }
+
+    // Most items a member of role may hold; staff already above a lowered limit keep what they
+    // have but get nothing more until they drop below it
+    public synchronized void setAssignmentLimit(StaffRole role, int limit) {
+        if (limit < 0) throw new IllegalArgumentException("Assignment limit must not be negative");
+        int[] limits = assignmentLimits.clone();
+        limits[role.ordinal()] = limit;
+        overLimit = overLimitErrors(limits);
+        assignmentLimits = limits;
+    }
+
+    public int getAssignmentLimit(StaffRole role) {
+        return assignmentLimits[role.ordinal()];
+    }
+
+    private int limitFor(StaffMember staff) {
+        return (staff == null) ? 0 : getAssignmentLimit(staff.getRole());
+    }
+
+    // O(1) lookup by assetId (null if not in this inventory)
+    public Equipment findEquipmentByAssetId(String assetId) {
+        if (assetId == null) return null;
+        Integer row = assetIndex.get(assetId);
+        return (row == null) ? null : store.get(row);
+    }
+
+    // Number of items currently in the inventory (removed items are not counted)
+    public int getInventoryCount() {
+        indexLock.readLock().lock();
+        try {
+            return store.liveCount();
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    // Number of items in a category (case-insensitive, O(1) counter read)
+    public int countByCategory(String category) {
+        indexLock.readLock().lock();
+        try {
+            return categoryCounters.totalCount(store.ordinalOf(category));
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    // Number of items in a category that are currently assigned
+    public int countAssignedByCategory(String category) {
+        indexLock.readLock().lock();
+        try {
+            return categoryCounters.assignedCount(store.ordinalOf(category));
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    // Total / assigned for every category ever seen, in the order they were first added
+    // Reads the counters only: O(categories) however large the inventory is
+    public CategoryUsage[] getCategoryUsage() {
+        indexLock.readLock().lock();
+        try {
+            CategoryUsage[] usage = new CategoryUsage[store.categoryCount()];
+            for (int ord = 0; ord < usage.length; ord++) {
+                usage[ord] = new CategoryUsage(store.categoryName(ord),
+                        categoryCounters.totalCount(ord), categoryCounters.assignedCount(ord));
+            }
+            return usage;
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    // Equipment with warrantyMonths == 0 (read straight from the expired bucket)
+    public Equipment[] findExpiredWarranties() {
+        indexLock.readLock().lock();
+        try {
+            return toEquipment(warrantyIndex.expired());
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    // Equipment that needs maintenance: expired warranty or LAB category, in inventory order
+    // Scans the primitive warranty/category columns, only touching objects that match
+    public Equipment[] findMaintenanceCandidates() {
+        indexLock.readLock().lock();
+        try {
+            int labOrd = store.ordinalOf("LAB");
+            int size = store.size();
+
+            int[] rows = new int[size];
+            int count = 0;
+            for (int row = 0; row < size; row++) {
+                if (store.get(row) == null) continue;
+                if (store.warranty(row) == 0 || (labOrd >= 0 && store.categoryOrdinal(row) == labOrd)) {
+                    rows[count++] = row;
+                }
+            }
+            return toEquipment(Arrays.copyOf(rows, count));
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    // Distinct categories (uppercased) in the order they were first added
+    public String[] getCategories() {
+        indexLock.readLock().lock();
+        try {
+            return categoryIndex.categories();
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    // ---------------- TASK 4 REQUIRED METHODS ----------------
+
+    // assignEquipment: if-else checks availability + assignment limit
+    // Safe to call from several threads: see the class comment
+    public void assignEquipment(StaffMember staff, Equipment equipment) throws InventoryException {
+        InventoryMetrics m = metrics;
+        if (m == null) {
+            assign(staff, equipment);
+            return;
+        }
+        long start = m.start(InventoryMetrics.Operation.ASSIGN);
+        try {
+            assign(staff, equipment);
+        } catch (InventoryException e) {
+            m.rejected(e);
+            throw e;
+        } finally {
+            m.stop(InventoryMetrics.Operation.ASSIGN, start);
+        }
+    }
+
+    private void assign(StaffMember staff, Equipment equipment) throws InventoryException {
+        AssignmentResult result = assignOrReject(staff, equipment);
+        if (!result.isSuccess()) throw rejection(result, staff, equipment);
+    }
+
+    // Non-throwing assignEquipment for hot paths where rejections are common:
+    // the same checks, reported as a shared result code (nothing is allocated on rejection)
+    // OK, STAFF_NOT_FOUND, EQUIPMENT_NOT_FOUND (null equipment), NOT_AVAILABLE or LIMIT_EXCEEDED
+    public AssignmentResult tryAssign(StaffMember staff, Equipment equipment) {
+        InventoryMetrics m = metrics;
+        if (m == null) return assignOrReject(staff, equipment);
+        long start = m.start(InventoryMetrics.Operation.ASSIGN);
+        AssignmentResult result = assignOrReject(staff, equipment);
+        if (!result.isSuccess()) m.rejected(result);
+        m.stop(InventoryMetrics.Operation.ASSIGN, start);
+        return result;
+    }
+
+    // Re-applies a saved assignment (snapshot restore / journal replay): it was within the limit
+    // when it was made, so a limit lowered since then must not drop it. Its loan runs from
+    // assignedAt (null = unknown, e.g. older files: from now).
+    void restoreAssignment(StaffMember staff, Equipment equipment, Instant assignedAt) throws InventoryException {
+        AssignmentResult result = assignOrReject(staff, equipment, Integer.MAX_VALUE, assignedAt);
+        if (!result.isSuccess()) throw rejection(result, staff, equipment);
+    }
+
+    private AssignmentResult assignOrReject(StaffMember staff, Equipment equipment) {
+        return assignOrReject(staff, equipment, limitFor(staff), null);
+    }
+
+    private AssignmentResult assignOrReject(StaffMember staff, Equipment equipment, int limit, Instant assignedAt) {
+        AssignmentResult rejected = checkAssignment(staff, equipment, limit); // fast rejection without locking
+        if (rejected != null) return rejected;
+
+        long logged;
+        synchronized (staffLock(staff)) {
+            // Re-check now that no other desk can change this staff member's assignments
+            if (staff.getAssignedEquipmentCount() >= limit) return AssignmentResult.LIMIT_EXCEEDED;
+            // The availability CAS decides which desk gets the item
+            if (!claim(staff, equipment)) return AssignmentResult.NOT_AVAILABLE;
+
+            staff.addAssignedEquipment(equipment);
+            Instant at = (assignedAt != null) ? assignedAt : now();
+            openLoan(staff, equipment, at);
+            logged = logAssign(staff, equipment, at);
+        }
+        awaitDurable(logged);
+        return AssignmentResult.OK;
+    }
+
+    // returnEquipment: validate return and update availability
+    public void returnEquipment(StaffMember staff, String assetId) throws InventoryException {
+        InventoryMetrics m = metrics;
+        if (m == null) {
+            giveBack(staff, assetId);
+            return;
+        }
+        long start = m.start(InventoryMetrics.Operation.RETURN);
+        try {
+            giveBack(staff, assetId);
+        } catch (InventoryException e) {
+            m.rejected(e);
+            throw e;
+        } finally {
+            m.stop(InventoryMetrics.Operation.RETURN, start);
+        }
+    }
+
+    private void giveBack(StaffMember staff, String assetId) throws InventoryException {
+        if (staff == null) {
+            throw NO_STAFF;
+        }
+        if (assetId == null || assetId.trim().isEmpty()) {
+            throw new InventoryException("Asset ID cannot be empty.");
+        }
+        if (!returnOrReject(staff, assetId).isSuccess()) {
+            throw new InventoryException("This staff member does not have assetId: " + assetId);
+        }
+    }
+
+    // Non-throwing returnEquipment: OK, STAFF_NOT_FOUND, EQUIPMENT_NOT_FOUND (unknown or empty
+    // assetId) or NOT_ASSIGNED (the staff member does not hold it)
+    public AssignmentResult tryReturn(StaffMember staff, String assetId) {
+        InventoryMetrics m = metrics;
+        if (m == null) return returnOrReject(staff, assetId);
+        long start = m.start(InventoryMetrics.Operation.RETURN);
+        AssignmentResult result = returnOrReject(staff, assetId);
+        if (!result.isSuccess()) m.rejected(result);
+        m.stop(InventoryMetrics.Operation.RETURN, start);
+        return result;
+    }
+
+    private AssignmentResult returnOrReject(StaffMember staff, String assetId) {
+        if (staff == null) return AssignmentResult.STAFF_NOT_FOUND;
+
+        // Index lookup, then confirm the staff member actually holds it
+        Equipment found = (assetId == null) ? null : findEquipmentByAssetId(assetId);
+        if (found == null) return AssignmentResult.EQUIPMENT_NOT_FOUND;
+
+        long logged;
+        synchronized (staffLock(staff)) {
+            if (!staff.hasAssignedEquipment(found)) return AssignmentResult.NOT_ASSIGNED;
+
+            // Log before release, so the next assignment of this item is logged after it
+            logged = logReturn(staff, assetId);
+
+            // Remove from staff + mark available
+            staff.removeAssignedEquipment(found);
+            closeLoan(found);
+            release(found);
+        }
+        awaitDurable(logged);
+        return AssignmentResult.OK;
+    }
+
+    // ---------------- BATCH (KITS) ----------------
+
+    // Assigns a whole kit in one pass: either every item is assigned or none is
+    // Never throws for business errors; result[i] says what happened to assetIds[i]
+    public AssignmentResult[] assignBatch(StaffMember staff, String[] assetIds) {
+        InventoryMetrics m = metrics;
+        if (m == null) return assignKit(staff, assetIds);
+        long start = m.start(InventoryMetrics.Operation.ASSIGN_BATCH);
+        AssignmentResult[] results = assignKit(staff, assetIds);
+        m.stop(InventoryMetrics.Operation.ASSIGN_BATCH, start);
+        return results;
+    }
+
+    private AssignmentResult[] assignKit(StaffMember staff, String[] assetIds) {
+        AssignmentResult[] results = new AssignmentResult[assetIds.length];
+        if (staff == null) {
+            Arrays.fill(results, AssignmentResult.STAFF_NOT_FOUND);
+            return results;
+        }
+
+        // Pass 1: resolve + check each item without locking
+        Equipment[] kit = new Equipment[assetIds.length];
+        Set<String> seen = new HashSet<>();
+        boolean failed = false;
+        for (int i = 0; i < assetIds.length; i++) {
+            kit[i] = findEquipmentByAssetId(assetIds[i]);
+            if (kit[i] == null) {
+                results[i] = AssignmentResult.EQUIPMENT_NOT_FOUND;
+            } else if (!seen.add(assetIds[i])) {
+                results[i] = AssignmentResult.DUPLICATE;
+            } else if (!kit[i].isAvailable()) {
+                results[i] = AssignmentResult.NOT_AVAILABLE;
+            }
+            failed |= (results[i] != null);
+        }
+
+        long logged = NOT_LOGGED;
+        synchronized (staffLock(staff)) {
+            if (!failed && staff.getAssignedEquipmentCount() + kit.length > limitFor(staff)) {
+                Arrays.fill(results, AssignmentResult.LIMIT_EXCEEDED);
+                return results;
+            }
+
+            // Pass 2: claim every item, undoing the claims if one was taken meanwhile
+            int claimed = 0;
+            while (!failed && claimed < kit.length) {
+                if (claim(staff, kit[claimed])) {
+                    claimed++;
+                } else {
+                    results[claimed] = AssignmentResult.NOT_AVAILABLE;
+                    failed = true;
+                }
+            }
+
+            if (failed) {
+                for (int i = 0; i < claimed; i++) release(kit[i]);
+                fillEmpty(results, AssignmentResult.NOT_APPLIED);
+                return results;
+            }
+
+            Instant at = now(); // one assignment time for the whole kit
+            for (Equipment eq : kit) {
+                staff.addAssignedEquipment(eq);
+                openLoan(staff, eq, at);
+                logged = logAssign(staff, eq, at);
+            }
+        }
+        awaitDurable(logged); // one wait for the whole kit
+
+        Arrays.fill(results, AssignmentResult.OK);
+        return results;
+    }
+
+    // Returns a whole kit: either every item is returned or none is
+    public AssignmentResult[] returnBatch(StaffMember staff, String[] assetIds) {
+        InventoryMetrics m = metrics;
+        if (m == null) return returnKit(staff, assetIds);
+        long start = m.start(InventoryMetrics.Operation.RETURN_BATCH);
+        AssignmentResult[] results = returnKit(staff, assetIds);
+        m.stop(InventoryMetrics.Operation.RETURN_BATCH, start);
+        return results;
+    }
+
+    private AssignmentResult[] returnKit(StaffMember staff, String[] assetIds) {
+        AssignmentResult[] results = new AssignmentResult[assetIds.length];
+        if (staff == null) {
+            Arrays.fill(results, AssignmentResult.STAFF_NOT_FOUND);
+            return results;
+        }
+
+        Equipment[] kit = new Equipment[assetIds.length];
+        Set<String> seen = new HashSet<>();
+
+        long logged = NOT_LOGGED;
+        synchronized (staffLock(staff)) {
+            boolean failed = false;
+            for (int i = 0; i < assetIds.length; i++) {
+                kit[i] = findEquipmentByAssetId(assetIds[i]);
+                if (kit[i] == null) {
+                    results[i] = AssignmentResult.EQUIPMENT_NOT_FOUND;
+                } else if (!seen.add(assetIds[i])) {
+                    results[i] = AssignmentResult.DUPLICATE;
+                } else if (!staff.hasAssignedEquipment(kit[i])) {
+                    results[i] = AssignmentResult.NOT_ASSIGNED;
+                }
+                failed |= (results[i] != null);
+            }
+
+            if (failed) {
+                fillEmpty(results, AssignmentResult.NOT_APPLIED);
+                return results;
+            }
+
+            for (Equipment eq : kit) {
+                logged = logReturn(staff, eq.getAssetId());
+                staff.removeAssignedEquipment(eq);
+                closeLoan(eq);
+                release(eq);
+            }
+        }
+        awaitDurable(logged);
+
+        Arrays.fill(results, AssignmentResult.OK);
+        return results;
+    }
+
+    // calculateMaintenanceFee: MUST use switch/if by category
+    public double calculateMaintenanceFee(Equipment equipment, int daysOverdue) {
+        if (equipment == null || daysOverdue <= 0) return 0.0;
+
+        return ratePerDay(equipment.getCategory()) * daysOverdue;
+    }
+
+    // Maintenance fees for a whole overdue ledger (same rates as calculateMaintenanceFee)
+    // Categories are resolved to store ordinals once and priced from a rate table, then every
+    // fee is one multiply in a loop over primitive arrays. Totals are grouped by the department
+    // of the staff member holding each item; items nobody holds are totalled separately.
+    public FeeReport calculateMaintenanceFees(OverdueLedger ledger) {
+        int n = ledger.size();
+        int[] rateSlot = new int[n];     // index into rates
+        int[] days = new int[n];
+        int[] deptOrd = new int[n];      // UNKNOWN_ASSET / NOT_HELD or an index into deptTotals
+        Map<String, Integer> deptOrdinals = new LinkedHashMap<>();
+        double[] rates;
+        int unknown = 0;
+
+        // 1) Resolve: asset -> row -> category ordinal + holder's department
+        indexLock.readLock().lock();
+        try {
+            rates = rateTable();
+            for (int i = 0; i < n; i++) {
+                Integer row = assetIndex.get(ledger.getAssetId(i));
+                if (row == null) {
+                    deptOrd[i] = UNKNOWN_ASSET;
+                    unknown++;
+                    continue;
+                }
+                rateSlot[i] = store.categoryOrdinal(row) + 1;
+                days[i] = Math.max(0, ledger.getDaysOverdue(i));
+
+                StaffMember holder = store.holder(row);
+                if (holder == null) {
+                    deptOrd[i] = NOT_HELD;
+                    continue;
+                }
+                String dept = DepartmentIndex.key(holder.getDepartment());
+                Integer ord = deptOrdinals.get(dept);
+                if (ord == null) {
+                    ord = deptOrdinals.size();
+                    deptOrdinals.put(dept, ord);
+                }
+                deptOrd[i] = ord;
+            }
+        } finally {
+            indexLock.readLock().unlock();
+        }
+
+        // 2) Price: primitive arrays only
+        double[] fees = new double[n];
+        double[] deptTotals = new double[deptOrdinals.size()];
+        double total = 0;
+        double notHeld = 0;
+        for (int i = 0; i < n; i++) {
+            if (deptOrd[i] == UNKNOWN_ASSET) continue;
+            double fee = rates[rateSlot[i]] * days[i];
+            fees[i] = fee;
+            if (deptOrd[i] == NOT_HELD) {
+                notHeld += fee;
+            } else {
+                deptTotals[deptOrd[i]] += fee;
+            }
+            total += fee;
+        }
+
+        Map<String, Double> byDepartment = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> entry : deptOrdinals.entrySet()) {
+            byDepartment.put(entry.getKey(), deptTotals[entry.getValue()]);
+        }
+        return new FeeReport(fees, total, byDepartment, notHeld, unknown);
+    }
+
+    // Daily maintenance rate for a category
+    static double ratePerDay(String category) {
+        if (category == null) category = "OTHER";
+
+        double ratePerDay;
+
+        // Switch statement (required)
+        switch (category.trim().toUpperCase()) {
+            case "IT":
+                ratePerDay = 5.0;
+                break;
+            case "LAB":
+                ratePerDay = 12.0;
+                break;
+            case "AV":
+                ratePerDay = 8.0;
+                break;
+            default:
+                ratePerDay = 3.0;
+                break;
+        }
+
+        return ratePerDay;
+    }
+
+    // Overloaded search #1: by name (trigram index, see NameIndex)
+    public Equipment[] searchEquipment(String name) {
+        InventoryMetrics m = metrics;
+        if (m == null) return searchByName(name);
+        long start = m.start(InventoryMetrics.Operation.SEARCH_NAME);
+        Equipment[] results = searchByName(name);
+        m.stopSearch(InventoryMetrics.Operation.SEARCH_NAME, start, results.length);
+        return results;
+    }
+
+    private Equipment[] searchByName(String name) {
+        if (name == null) name = "";
+        String target = name.trim().toLowerCase();
+
+        indexLock.readLock().lock();
+        try {
+            return toEquipment(nameIndex.search(target, store.size()));
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    // Overloaded search #2: by category (+ optional availableOnly)
+    public Equipment[] searchEquipment(String category, boolean availableOnly) {
+        InventoryMetrics m = metrics;
+        if (m == null) return searchByCategory(category, availableOnly);
+        long start = m.start(InventoryMetrics.Operation.SEARCH_CATEGORY);
+        Equipment[] results = searchByCategory(category, availableOnly);
+        m.stopSearch(InventoryMetrics.Operation.SEARCH_CATEGORY, start, results.length);
+        return results;
+    }
+
+    private Equipment[] searchByCategory(String category, boolean availableOnly) {
+        if (category == null) category = "";
+        String target = category.trim().toLowerCase();
+
+        indexLock.readLock().lock();
+        try {
+            // OR the matching category bitmaps, AND with availability if needed
+            BitSet rows = categoryIndex.match(target, availableOnly);
+
+            Equipment[] results = new Equipment[rows.cardinality()];
+            int count = 0;
+            for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                results[count++] = store.get(row);
+            }
+            return results;
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    // Overloaded search #3: by warranty range (sorted index, results ordered by warranty)
+    public Equipment[] searchEquipment(int minWarranty, int maxWarranty) {
+        InventoryMetrics m = metrics;
+        if (m == null) return searchByWarranty(minWarranty, maxWarranty);
+        long start = m.start(InventoryMetrics.Operation.SEARCH_WARRANTY);
+        Equipment[] results = searchByWarranty(minWarranty, maxWarranty);
+        m.stopSearch(InventoryMetrics.Operation.SEARCH_WARRANTY, start, results.length);
+        return results;
+    }
+
+    private Equipment[] searchByWarranty(int minWarranty, int maxWarranty) {
+        indexLock.readLock().lock();
+        try {
+            return toEquipment(warrantyIndex.range(minWarranty, maxWarranty));
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    // validateAssignment: nested if-else validation
+    public void validateAssignment(StaffMember staff, Equipment equipment) throws InventoryException {
+        InventoryMetrics m = metrics;
+        if (m == null) {
+            validate(staff, equipment);
+            return;
+        }
+        long start = m.start(InventoryMetrics.Operation.VALIDATE);
+        try {
+            validate(staff, equipment);
+        } catch (InventoryException e) {
+            m.rejected(e);
+            throw e;
+        } finally {
+            m.stop(InventoryMetrics.Operation.VALIDATE, start);
+        }
+    }
+
+    private void validate(StaffMember staff, Equipment equipment) throws InventoryException {
+        AssignmentResult rejected = checkAssignment(staff, equipment, limitFor(staff));
+        if (rejected != null) throw rejection(rejected, staff, equipment);
+    }
+
+    // The validation itself: null if the assignment may go ahead, else why not
+    private static AssignmentResult checkAssignment(StaffMember staff, Equipment equipment, int limit) {
+        if (staff == null) {
+            return AssignmentResult.STAFF_NOT_FOUND;
+        } else {
+            if (equipment == null) {
+                return AssignmentResult.EQUIPMENT_NOT_FOUND;
+            } else {
+                // Nested validation logic
+                if (!equipment.isAvailable()) {
+                    return AssignmentResult.NOT_AVAILABLE;
+                } else {
+                    if (staff.getAssignedEquipmentCount() >= limit) {
+                        return AssignmentResult.LIMIT_EXCEEDED;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    // Exception for the throwing API: shared stackless instances, except not-available,
+    // whose message names the item (still stackless, so only the message is built)
+    private InventoryException rejection(AssignmentResult result, StaffMember staff, Equipment equipment) {
+        switch (result) {
+            case STAFF_NOT_FOUND:
+                return NO_STAFF;
+            case EQUIPMENT_NOT_FOUND:
+                return NO_EQUIPMENT;
+            case LIMIT_EXCEEDED:
+                return overLimit[staff.getRole().ordinal()];
+            default:
+                return new InventoryException.EquipmentNotAvailableException(
+                        "Equipment is not available: " + equipment.getAssetId(), false);
+        }
+    }
+
+    // ---------------- SNAPSHOTS ----------------
+
+    // Runs action with every change held off, so it sees one consistent state: the index read
+    // lock stops adds, removals and field changes, the staff locks stop assign / return.
+    // Every one of those logs to the journal inside the lock it takes, so the journal position
+    // read inside action is exactly the point the state corresponds to.
+    void whileChangesPaused(Runnable action) {
+        indexLock.readLock().lock();
+        try {
+            withAllStaffLocks(0, action);
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    // Every row with its object, asset ID and availability as of now. Call inside whileChangesPaused.
+    EquipmentStore.Cut cut() {
+        return store.cut();
+    }
+
+    // ---------------- HELPER ----------------
+
+    private static int[] defaultLimits() {
+        StaffRole[] roles = StaffRole.values();
+        int[] limits = new int[roles.length];
+        for (StaffRole role : roles) {
+            limits[role.ordinal()] = role.getDefaultLimit();
+        }
+        return limits;
+    }
+
+    private static InventoryException[] overLimitErrors(int[] limits) {
+        InventoryException[] errors = new InventoryException[limits.length];
+        for (int i = 0; i < limits.length; i++) {
+            errors[i] = new InventoryException.AssignmentLimitExceededException(
+                    "Assignment limit exceeded. Max " + limits[i] + " items allowed.", false);
+        }
+        return errors;
+    }
+
+    // rates[0] = no category, rates[ord + 1] = category ordinal ord (call under the read lock)
+    private double[] rateTable() {
+        double[] rates = new double[store.categoryCount() + 1];
+        rates[0] = ratePerDay(null);
+        for (int ord = 0; ord < store.categoryCount(); ord++) {
+            rates[ord + 1] = ratePerDay(store.categoryName(ord));
+        }
+        return rates;
+    }
+
+    private Equipment[] toEquipment(int[] rows) {
+        Equipment[] results = new Equipment[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            results[i] = store.get(rows[i]);
+        }
+        return results;
+    }
+
+    // Row of an equipment object in the store (-1 if it is not in this inventory)
+    private int rowOf(Equipment equipment) {
+        Integer row = assetIndex.get(equipment.getAssetId());
+        return (row != null && store.get(row) == equipment) ? row : -1;
+    }
+
+    // Logged under the staff member's monitor, with the staffId read there: a setStaffId running
+    // at the same time reaches the journal wholly before or after this record
+    private long logAssign(StaffMember staff, Equipment equipment, Instant at) {
+        InventoryJournal j = journal;
+        if (j == null) return NOT_LOGGED;
+        synchronized (staff) {
+            return j.logAssign(staff.getStaffId(), equipment.getAssetId(), at);
+        }
+    }
+
+    private long logReturn(StaffMember staff, String assetId) {
+        InventoryJournal j = journal;
+        if (j == null) return NOT_LOGGED;
+        synchronized (staff) {
+            return j.logReturn(staff.getStaffId(), assetId);
+        }
+    }
+
+    private void awaitDurable(long logged) {
+        InventoryJournal j = journal;
+        if (j != null && logged != NOT_LOGGED) j.awaitDurable(logged);
+    }
+
+    private static void fillEmpty(AssignmentResult[] results, AssignmentResult value) {
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) results[i] = value;
+        }
+    }
+
+    private void openLoan(StaffMember staff, Equipment equipment, Instant assignedAt) {
+        LoanLedger l = loans;
+        if (l != null) l.open(staff, equipment, assignedAt);
+    }
+
+    // Assignment time, on the loan ledger's clock when there is one; whole milliseconds, as
+    // journaled, so a replayed loan is due at exactly the same instant
+    private Instant now() {
+        LoanLedger l = loans;
+        long millis = (l != null) ? l.getClock().millis() : System.currentTimeMillis();
+        return Instant.ofEpochMilli(millis);
+    }
+
+    private void closeLoan(Equipment equipment) {
+        LoanLedger l = loans;
+        if (l != null) l.close(equipment);
+    }
+
+    private Object staffLock(StaffMember staff) {
+        return staffLocks[staff.getSequence() & (STAFF_STRIPES - 1)]; // not staffId: that can change mid-assign
+    }
+
+    // Atomically marks equipment as assigned; false if it was already taken
+    // Callers hold the staff member's stripe lock (see categoryChanged)
+    private boolean claim(StaffMember staff, Equipment equipment) {
+        int row = rowOf(equipment);
+        if (row >= 0) {
+            if (!store.compareAndSetAvailable(row, true, false)) return false;
+            equipment.setAvailable(false);
+            store.setHolder(row, staff);
+            categoryCounters.assigned(store.categoryOrdinal(row));
+            return true;
+        }
+
+        // Not in this inventory: fall back to the object's own flag
+        synchronized (equipment) {
+            if (!equipment.isAvailable()) return false;
+            equipment.setAvailable(false);
+            return true;
+        }
+    }
+
+    private void release(Equipment equipment) {
+        equipment.setAvailable(true);
+        int row = rowOf(equipment);
+        if (row >= 0) store.setHolder(row, null); // before the CAS: the next holder is set after it
+        if (row >= 0 && store.compareAndSetAvailable(row, false, true)) {
+            categoryCounters.returned(store.categoryOrdinal(row));
+        }
+    }
+
+    // Runs action while holding every staff stripe lock, so no claim/release is in flight
+    private void withAllStaffLocks(int stripe, Runnable action) {
+        if (stripe == STAFF_STRIPES) {
+            action.run();
+            return;
+        }
+        synchronized (staffLocks[stripe]) {
+            withAllStaffLocks(stripe + 1, action);
+        }
+    }
+
+    // Keeps the indexes in sync when equipment fields are changed directly
+    private class IndexSync implements EquipmentListener {
+        @Override
+        public void assetIdChanging(Equipment equipment, String newAssetId) {
+            long logged;
+            indexLock.writeLock().lock();
+            try {
+                int row = rowOf(equipment);
+                if (row < 0 || equipment.getAssetId().equals(newAssetId)) return;
+
+                if (newAssetId == null) {
+                    throw new IllegalArgumentException("Asset ID cannot be null for equipment in the inventory.");
+                }
+                if (assetIndex.containsKey(newAssetId)) {
+                    throw new IllegalArgumentException("Asset ID already in use: " + newAssetId);
+                }
+                assetIndex.put(newAssetId, row);
+                assetIndex.remove(equipment.getAssetId());
+                store.setAssetId(row, newAssetId);
+                logged = (journal != null) ? journal.logAssetId(equipment.getAssetId(), newAssetId) : NOT_LOGGED;
+            } finally {
+                indexLock.writeLock().unlock();
+            }
+            awaitDurable(logged);
+            forward(l -> l.assetIdChanging(equipment, newAssetId));
+        }
+
+        @Override
+        public void nameChanged(Equipment equipment, String oldName) {
+            long logged;
+            indexLock.writeLock().lock();
+            try {
+                int row = rowOf(equipment);
+                if (row < 0) return;
+                nameIndex.rename(row, equipment.getName());
+                logged = (journal != null) ? journal.logName(equipment.getAssetId(), equipment.getName()) : NOT_LOGGED;
+            } finally {
+                indexLock.writeLock().unlock();
+            }
+            awaitDurable(logged);
+            forward(l -> l.nameChanged(equipment, oldName));
+        }
+
+        @Override
+        public void categoryChanged(Equipment equipment, String oldCategory) {
+            long logged;
+            indexLock.writeLock().lock();
+            try {
+                int row = rowOf(equipment);
+                if (row < 0) return;
+                categoryIndex.remove(row);
+                // Moving the counts must not interleave with an assign/return on this row,
+                // which would count against the old category (category changes are rare)
+                withAllStaffLocks(0, () -> {
+                    boolean available = store.isAvailable(row);
+                    categoryCounters.removed(store.categoryOrdinal(row), available);
+                    store.setCategory(row, equipment.getCategoryKey());
+                    categoryCounters.added(store.categoryOrdinal(row), available);
+                });
+                categoryIndex.add(row);
+                logged = (journal != null) ? journal.logCategory(equipment.getAssetId(), equipment.getCategory()) : NOT_LOGGED;
+            } finally {
+                indexLock.writeLock().unlock();
+            }
+            awaitDurable(logged);
+            forward(l -> l.categoryChanged(equipment, oldCategory));
+        }
+
+        @Override
+        public void warrantyChanged(Equipment equipment, int oldMonths) {
+            long logged;
+            indexLock.writeLock().lock();
+            try {
+                int row = rowOf(equipment);
+                if (row < 0) return;
+                warrantyIndex.change(row, oldMonths, equipment.getWarrantyMonths());
+                store.setWarranty(row, equipment.getWarrantyMonths());
+                logged = (journal != null) ? journal.logWarranty(equipment.getAssetId(), equipment.getWarrantyMonths()) : NOT_LOGGED;
+            } finally {
+                indexLock.writeLock().unlock();
+            }
+            awaitDurable(logged);
+            forward(l -> l.warrantyChanged(equipment, oldMonths));
+        }
+
+        @Override
+        public void brandChanged(Equipment equipment, String oldBrand) {
+            long logged;
+            indexLock.writeLock().lock(); // not indexed, but logged under the lock like every change (snapshots)
+            try {
+                if (rowOf(equipment) < 0) return;
+                logged = (journal != null) ? journal.logBrand(equipment.getAssetId(), equipment.getBrand()) : NOT_LOGGED;
+            } finally {
+                indexLock.writeLock().unlock();
+            }
+            awaitDurable(logged);
+            forward(l -> l.brandChanged(equipment, oldBrand));
+        }
+
+        @Override
+        public void removed(Equipment equipment) {
+            // removeEquipmentFromInventory tells the change listener itself
+        }
+
+        private void forward(Consumer<EquipmentListener> event) {
+            EquipmentListener l = changeListener;
+            if (l != null) event.accept(l);
+        }
+    }
+}
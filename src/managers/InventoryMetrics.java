@@ -0,0 +1,192 @@
+package Managers;
+
+import exceptions.InventoryException;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+// Latency histograms per InventoryManager operation, result-size histograms per search
+// overload and a striped counter per InventoryException type.
+// Attach with InventoryManager.setMetrics; when none is attached the manager's only cost is
+// one null check per call. Read with snapshot() or over JMX (see registerMBean).
+//
+// Every call is counted, but only a random 1 in sampleEvery calls is timed: a System.nanoTime
+// pair plus a histogram update costs ~90ns, a striped count + coin flip under 10ns.
+// Percentiles and means come from the sample; use sampleEvery = 1 to time every call.
+public class InventoryMetrics implements InventoryMetricsMXBean {
+
+    public enum Operation {
+        ASSIGN("assign"),
+        RETURN("return"),
+        ASSIGN_BATCH("assignBatch"),
+        RETURN_BATCH("returnBatch"),
+        VALIDATE("validate"),
+        SEARCH_NAME("search.name"),
+        SEARCH_CATEGORY("search.category"),
+        SEARCH_WARRANTY("search.warranty");
+
+        private final String label;
+
+        Operation(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() { return label; }
+    }
+
+    public static final String OBJECT_NAME = "university.inventory:type=InventoryMetrics";
+    public static final int DEFAULT_SAMPLE_EVERY = 8;
+
+    static final long NOT_TIMED = Long.MIN_VALUE;
+
+    // Exception counters: index = REJECTIONS position
+    private static final String[] REJECTIONS = {
+        "EquipmentNotAvailableException", "AssignmentLimitExceededException",
+        "StaffMemberNotFoundException", "InventoryException"
+    };
+
+    private final int sampleMask;
+    private final LongAdder[] calls = new LongAdder[Operation.values().length];
+    private final LatencyHistogram[] latency = new LatencyHistogram[Operation.values().length];
+    private final LatencyHistogram[] resultSizes = new LatencyHistogram[Operation.values().length];
+    private final LongAdder[] rejections = new LongAdder[REJECTIONS.length];
+
+    public InventoryMetrics() {
+        this(DEFAULT_SAMPLE_EVERY);
+    }
+
+    // sampleEvery: power of 2 (1 = time every call)
+    public InventoryMetrics(int sampleEvery) {
+        if (sampleEvery <= 0 || Integer.bitCount(sampleEvery) != 1) {
+            throw new IllegalArgumentException("sampleEvery must be a power of 2");
+        }
+        this.sampleMask = sampleEvery - 1;
+        for (Operation op : Operation.values()) {
+            calls[op.ordinal()] = new LongAdder();
+            latency[op.ordinal()] = new LatencyHistogram();
+            if (isSearch(op)) resultSizes[op.ordinal()] = new LatencyHistogram();
+        }
+        for (int i = 0; i < rejections.length; i++) rejections[i] = new LongAdder();
+    }
+
+    // ---------------- recording (called by InventoryManager) ----------------
+
+    // Counts the call; returns its start time if it is sampled, else NOT_TIMED
+    long start(Operation op) {
+        calls[op.ordinal()].increment();
+        if (sampleMask != 0 && (ThreadLocalRandom.current().nextInt() & sampleMask) != 0) return NOT_TIMED;
+        return System.nanoTime();
+    }
+
+    void stop(Operation op, long start) {
+        if (start != NOT_TIMED) latency[op.ordinal()].record(System.nanoTime() - start);
+    }
+
+    void stopSearch(Operation op, long start, int results) {
+        if (start == NOT_TIMED) return;
+        latency[op.ordinal()].record(System.nanoTime() - start);
+        resultSizes[op.ordinal()].record(results);
+    }
+
+    void rejected(InventoryException e) {
+        if (e instanceof InventoryException.EquipmentNotAvailableException) {
+            rejections[0].increment();
+        } else if (e instanceof InventoryException.AssignmentLimitExceededException) {
+            rejections[1].increment();
+        } else if (e instanceof InventoryException.StaffMemberNotFoundException) {
+            rejections[2].increment();
+        } else {
+            rejections[3].increment();
+        }
+    }
+
+    // Same counters for the non-throwing tryAssign (counted under the exception it replaces)
+    void rejected(AssignmentResult result) {
+        switch (result) {
+            case NOT_AVAILABLE: rejections[0].increment(); break;
+            case LIMIT_EXCEEDED: rejections[1].increment(); break;
+            case STAFF_NOT_FOUND: rejections[2].increment(); break;
+            default: rejections[3].increment();
+        }
+    }
+
+    // ---------------- reading ----------------
+
+    public MetricsSnapshot snapshot() {
+        Operation[] ops = Operation.values();
+        MetricsSnapshot.OperationStats[] stats = new MetricsSnapshot.OperationStats[ops.length];
+        for (Operation op : ops) {
+            LatencyHistogram sizes = resultSizes[op.ordinal()];
+            stats[op.ordinal()] = new MetricsSnapshot.OperationStats(op.getLabel(), calls[op.ordinal()].sum(),
+                    latency[op.ordinal()].summarize(), (sizes != null) ? sizes.summarize() : null);
+        }
+
+        Map<String, Long> exceptions = new LinkedHashMap<>();
+        for (int i = 0; i < REJECTIONS.length; i++) exceptions.put(REJECTIONS[i], rejections[i].sum());
+        return new MetricsSnapshot(stats, exceptions);
+    }
+
+    @Override
+    public void reset() {
+        for (LongAdder a : calls) a.reset();
+        for (LatencyHistogram h : latency) h.reset();
+        for (LatencyHistogram h : resultSizes) {
+            if (h != null) h.reset();
+        }
+        for (LongAdder a : rejections) a.reset();
+    }
+
+    // Registers this object with the platform MBean server under OBJECT_NAME
+    public void registerMBean() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(OBJECT_NAME);
+        if (server.isRegistered(name)) server.unregisterMBean(name);
+        server.registerMBean(this, name);
+    }
+
+    public void unregisterMBean() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(OBJECT_NAME);
+        if (server.isRegistered(name)) server.unregisterMBean(name);
+    }
+
+    // ---------------- JMX attributes ----------------
+
+    @Override public Map<String, Long> getOperationCounts() { return perOperation(MetricsSnapshot.OperationStats::getCount); }
+    @Override public Map<String, Long> getMeanNanos() { return perOperation(s -> Math.round(s.getMeanNanos())); }
+    @Override public Map<String, Long> getP50Nanos() { return perOperation(MetricsSnapshot.OperationStats::getP50Nanos); }
+    @Override public Map<String, Long> getP99Nanos() { return perOperation(MetricsSnapshot.OperationStats::getP99Nanos); }
+    @Override public Map<String, Long> getP999Nanos() { return perOperation(MetricsSnapshot.OperationStats::getP999Nanos); }
+    @Override public Map<String, Long> getMaxNanos() { return perOperation(MetricsSnapshot.OperationStats::getMaxNanos); }
+    @Override public Map<String, Long> getExceptionCounts() { return snapshot().getExceptionCounts(); }
+
+    @Override
+    public Map<String, Long> getMeanResultSizes() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (MetricsSnapshot.OperationStats s : snapshot().getOperations()) {
+            if (s.hasResultSizes()) result.put(s.getName(), Math.round(s.getMeanResultSize()));
+        }
+        return result;
+    }
+
+    // ----------------- helpers -----------------
+
+    private Map<String, Long> perOperation(ToLongFunction<MetricsSnapshot.OperationStats> value) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (MetricsSnapshot.OperationStats s : snapshot().getOperations()) {
+            result.put(s.getName(), value.applyAsLong(s));
+        }
+        return result;
+    }
+
+    private static boolean isSearch(Operation op) {
+        return op == Operation.SEARCH_NAME || op == Operation.SEARCH_CATEGORY || op == Operation.SEARCH_WARRANTY;
+    }
+}
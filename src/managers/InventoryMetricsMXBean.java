@@ -0,0 +1,27 @@
+package Managers;
+
+import java.util.Map;
+
+// JMX view of InventoryMetrics: one map per statistic, keyed by operation name
+public interface InventoryMetricsMXBean {
+
+    Map<String, Long> getOperationCounts();
+
+    Map<String, Long> getMeanNanos();
+
+    Map<String, Long> getP50Nanos();
+
+    Map<String, Long> getP99Nanos();
+
+    Map<String, Long> getP999Nanos();
+
+    Map<String, Long> getMaxNanos();
+
+    // Keyed by exception type (simple class name)
+    Map<String, Long> getExceptionCounts();
+
+    // Search overloads only
+    Map<String, Long> getMeanResultSizes();
+
+    void reset();
+}
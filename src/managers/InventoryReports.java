@@ -1,186 +1,493 @@
-package Managers;
-
-import models.Equipment;
-import models.InventoryItem;
-import models.StaffMember;
-
-public class InventoryReports {
-
-    private InventoryItem[] items;
-    private int itemCount;
-
-    private StaffMember[] staffMembers;
-    private int staffCount;
-
-    public InventoryReports(InventoryItem[] items, int itemCount,
-                            StaffMember[] staffMembers, int staffCount) {
-        this.items = items;
-        this.itemCount = itemCount;
-        this.staffMembers = staffMembers;
-        this.staffCount = staffCount;
-    }
-
-    // 1) FOR loop: display all items with status
-    public void generateInventoryReport() {
-        System.out.println("\n--- INVENTORY REPORT ---");
-
-        for (int i = 0; i < itemCount; i++) { // FOR LOOP (required)
-            InventoryItem item = items[i];
-            if (item == null) continue;
-
-            String status = item.isAvailable() ? "AVAILABLE" : "ASSIGNED";
-            System.out.println(item.getItemType() + " | " + item.getId() + " | " + item.getName() + " | " + status);
-        }
-    }
-
-    // 2) WHILE loop: show equipment with expired warranties (warrantyMonths == 0)
-    public void findExpiredWarranties() {
-        System.out.println("\n--- EXPIRED WARRANTIES (warrantyMonths == 0) ---");
-
-        int i = 0;
-        boolean foundAny = false;
-
-        while (i < itemCount) { // WHILE LOOP (required)
-            InventoryItem item = items[i];
-
-            if (item instanceof Equipment) {
-                Equipment eq = (Equipment) item;
-                if (eq.getWarrantyMonths() == 0) {
-                    System.out.println(eq);
-                    foundAny = true;
-                }
-            }
-
-            i++;
-        }
-
-        if (!foundAny) {
-            System.out.println("No expired warranties found.");
-        }
-    }
-
-    // 3) FOREACH loop: group assignments by department
-    // NOTE: StaffMember must have getDepartment() for this to work (see quick patch below)
-    public void displayAssignmentsByDepartment() {
-        System.out.println("\n--- ASSIGNMENTS BY DEPARTMENT ---");
-
-        // Step A: collect unique departments (using foreach)
-        String[] departments = new String[staffCount];
-        int deptCount = 0;
-
-        for (StaffMember s : staffMembers) { // FOREACH LOOP (required)
-            if (s == null) continue;
-
-            String dept = safe(s.getDepartment());
-            if (!contains(departments, deptCount, dept)) {
-                departments[deptCount++] = dept;
-            }
-        }
-
-        // Step B: print grouped assignments (also uses foreach)
-        for (int d = 0; d < deptCount; d++) {
-            String dept = departments[d];
-            System.out.println("\nDepartment: " + dept);
-
-            for (StaffMember s : staffMembers) { // FOREACH LOOP
-                if (s == null) continue;
-                if (!safe(s.getDepartment()).equals(dept)) continue;
-
-                System.out.println("  Staff: " + s.getName() + " (" + s.getStaffId() + ")");
-
-                Equipment[] assigned = s.getAssignedEquipment();
-                boolean any = false;
-
-                for (Equipment eq : assigned) { // FOREACH LOOP
-                    if (eq != null) {
-                        System.out.println("    - " + eq.getAssetId() + " | " + eq.getName() + " | " + eq.getCategory());
-                        any = true;
-                    }
-                }
-
-                if (!any) System.out.println("    (no equipment assigned)");
-            }
-        }
-    }
-
-    // 4) NESTED loops: utilisation stats
-    // Here: utilisation = assigned / total per category
-    public void calculateUtilisationRate() {
-        System.out.println("\n--- UTILISATION RATE (by category) ---");
-
-        String[] categories = {"IT", "LAB", "AV", "OTHER"};
-
-        for (int c = 0; c < categories.length; c++) { // outer loop
-            String cat = categories[c];
-            int total = 0;
-            int assigned = 0;
-
-            for (int i = 0; i < itemCount; i++) { // inner loop (NESTED LOOPS required)
-                InventoryItem item = items[i];
-                if (!(item instanceof Equipment)) continue;
-
-                Equipment eq = (Equipment) item;
-                String eqCat = safe(eq.getCategory()).toUpperCase();
-                if (!eqCat.equals(cat)) continue;
-
-                total++;
-                if (!eq.isAvailable()) assigned++;
-            }
-
-            if (total == 0) {
-                System.out.println(cat + ": No items");
-            } else {
-                double rate = (assigned * 100.0) / total;
-                System.out.printf("%s: %d/%d assigned (%.2f%%)%n", cat, assigned, total, rate);
-            }
-        }
-    }
-
-    // 5) DO-WHILE loop: create a simple maintenance schedule
-    // Reasonable approach: schedule items with expired warranty first, then LAB category
-    public void generateMaintenanceSchedule() {
-        System.out.println("\n--- MAINTENANCE SCHEDULE ---");
-
-        int day = 1;
-        int i = 0;
-
-        do { // DO-WHILE LOOP (required)
-            if (i >= itemCount) break;
-
-            InventoryItem item = items[i];
-
-            if (item instanceof Equipment) {
-                Equipment eq = (Equipment) item;
-
-                boolean needsMaintenance =
-                        (eq.getWarrantyMonths() == 0) ||
-                        safe(eq.getCategory()).equalsIgnoreCase("LAB");
-
-                if (needsMaintenance) {
-                    System.out.println("Day " + day + ": " + eq.getAssetId() + " | " + eq.getName()
-                            + " | category=" + eq.getCategory() + " | warranty=" + eq.getWarrantyMonths());
-                    day++;
-                }
-            }
-
-            i++;
-        } while (i < itemCount);
-
-        if (day == 1) {
-            System.out.println("No maintenance items scheduled.");
-        }
-    }
-
-    // ----------------- helpers -----------------
-    private String safe(String s) {
-        if (s == null || s.trim().isEmpty()) return "Unknown";
-        return s.trim();
-    }
-
-    private boolean contains(String[] arr, int size, String value) {
-        for (int i = 0; i < size; i++) {
-            if (arr[i] != null && arr[i].equals(value)) return true;
-        }
-        return false;
-    }
-}
+package Managers;
+
+import models.AttributeDictionary;
+import models.Equipment;
+import models.InventoryItem;
+import models.StaffMember;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+// Every report writes rows into a ReportSink (text / CSV / JSON over a buffered Writer).
+// The no-argument versions print the text encoding to the console.
+public class InventoryReports {
+
+    // Dictionary key of the LAB category (any case / spacing)
+    private static final int LAB = AttributeDictionary.CATEGORIES.key(AttributeDictionary.CATEGORIES.encode("LAB"));
+
+    private InventoryItem[] items;
+    private int itemCount;
+
+    private StaffMember[] staffMembers;
+    private int staffCount;
+
+    // Optional: when set, category counts come from the manager's counters
+    private InventoryManager manager;
+    // Optional: when set, department grouping comes from this index instead of the staff array
+    private DepartmentIndex departments;
+    // Parallel mode (off when null): see setParallelThreshold
+    private ParallelReportWriter parallel;
+    private int parallelThreshold;
+    // Optional: capacity-aware plan used by generateMaintenancePlan
+    private MaintenanceScheduler scheduler;
+
+    public InventoryReports(InventoryItem[] items, int itemCount,
+                            StaffMember[] staffMembers, int staffCount) {
+        this.items = items;
+        this.itemCount = itemCount;
+        this.staffMembers = staffMembers;
+        this.staffCount = staffCount;
+    }
+
+    public InventoryReports(InventoryItem[] items, int itemCount,
+                            StaffMember[] staffMembers, int staffCount,
+                            InventoryManager manager) {
+        this(items, itemCount, staffMembers, staffCount);
+        this.manager = manager;
+    }
+
+    public InventoryReports(InventoryItem[] items, int itemCount,
+                            StaffMember[] staffMembers, int staffCount,
+                            InventoryManager manager, DepartmentIndex departments) {
+        this(items, itemCount, staffMembers, staffCount, manager);
+        this.departments = departments;
+    }
+
+    // Parallel mode for the inventory, expired-warranty and maintenance reports:
+    // more than threshold rows are split into fork-join tasks of threshold rows each,
+    // merged back in order (same output as sequential). 0 turns it off.
+    // Only the built-in text / CSV / JSON sinks are split; other sinks run sequentially.
+    public void setParallelThreshold(int threshold) {
+        setParallelThreshold(threshold, ForkJoinPool.commonPool());
+    }
+
+    public void setParallelThreshold(int threshold, ForkJoinPool pool) {
+        this.parallel = (threshold > 0) ? new ParallelReportWriter(pool, threshold) : null;
+        this.parallelThreshold = threshold;
+    }
+
+    public void setMaintenanceScheduler(MaintenanceScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    public void generateInventoryReport() { toConsole(this::generateInventoryReport); }
+    public void findExpiredWarranties() { toConsole(this::findExpiredWarranties); }
+    public void displayAssignmentsByDepartment() { toConsole(this::displayAssignmentsByDepartment); }
+    public void calculateUtilisationRate() { toConsole(this::calculateUtilisationRate); }
+    public void generateMaintenanceSchedule() { toConsole(this::generateMaintenanceSchedule); }
+
+    // 1) FOR loop: display all items with status
+    public void generateInventoryReport(ReportSink sink) throws IOException {
+        sink.beginReport("INVENTORY REPORT", "type", "id", "name", "status");
+
+        if (runParallel(sink, itemCount)) {
+            parallel.write((WriterSink) sink, items, itemCount,
+                    item -> item != null, (chunk, item, n) -> writeInventoryRow(chunk, item));
+            sink.endReport();
+            return;
+        }
+
+        for (int i = 0; i < itemCount; i++) { // FOR LOOP (required)
+            InventoryItem item = items[i];
+            if (item == null) continue;
+
+            writeInventoryRow(sink, item);
+        }
+        sink.endReport();
+    }
+
+    // 2) WHILE loop: show equipment with expired warranties (warrantyMonths == 0)
+    public void findExpiredWarranties(ReportSink sink) throws IOException {
+        sink.beginReport("EXPIRED WARRANTIES (warrantyMonths == 0)",
+                "assetId", "name", "brand", "category", "available");
+
+        int i = 0;
+        boolean foundAny = false;
+        Equipment[] expired = (manager != null) ? manager.findExpiredWarranties() : null;
+
+        if (expired != null && runParallel(sink, expired.length)) {
+            foundAny = parallel.write((WriterSink) sink, expired, expired.length,
+                    item -> true, (chunk, item, n) -> writeExpired(chunk, (Equipment) item)) > 0;
+        } else if (expired == null && runParallel(sink, itemCount)) {
+            foundAny = parallel.write((WriterSink) sink, items, itemCount,
+                    InventoryReports::isExpired, (chunk, item, n) -> writeExpired(chunk, (Equipment) item)) > 0;
+        } else if (expired != null) {
+            // Read the expired bucket of the warranty index instead of scanning
+            while (i < expired.length) {
+                writeExpired(sink, expired[i]);
+                foundAny = true;
+                i++;
+            }
+        } else {
+            while (i < itemCount) { // WHILE LOOP (required)
+                InventoryItem item = items[i];
+
+                if (isExpired(item)) {
+                    writeExpired(sink, (Equipment) item);
+                    foundAny = true;
+                }
+
+                i++;
+            }
+        }
+
+        if (!foundAny) {
+            sink.message("No expired warranties found.");
+        }
+        sink.endReport();
+    }
+
+    // 3) FOREACH loop: group assignments by department
+    // One row per assigned item (staff with nothing assigned get one row with empty item fields)
+    // Single grouped pass over the department index (built here in one pass if none was given)
+    public void displayAssignmentsByDepartment(ReportSink sink) throws IOException {
+        sink.beginReport("ASSIGNMENTS BY DEPARTMENT",
+                "department", "staffId", "staffName", "assetId", "name", "category");
+
+        DepartmentIndex index = (departments != null) ? departments : DepartmentIndex.of(staffMembers, staffCount);
+
+        for (Map.Entry<String, List<StaffMember>> group : index.grouped().entrySet()) { // FOREACH LOOP (required)
+            for (StaffMember s : group.getValue()) { // FOREACH LOOP
+                writeAssignments(sink, group.getKey(), s);
+            }
+        }
+        sink.endReport();
+    }
+
+    // Assignments of one department only (the rest of the staff table is not read)
+    public void displayAssignmentsForDepartment(ReportSink sink, String department) throws IOException {
+        String dept = DepartmentIndex.key(department);
+        sink.beginReport("ASSIGNMENTS FOR " + dept,
+                "department", "staffId", "staffName", "assetId", "name", "category");
+
+        StaffMember[] staff = (departments != null)
+                ? departments.getStaff(dept)
+                : DepartmentIndex.of(staffMembers, staffCount).getStaff(dept);
+
+        if (staff.length == 0) {
+            sink.message("No staff in department " + dept + ".");
+        }
+        for (StaffMember s : staff) {
+            writeAssignments(sink, dept, s);
+        }
+        sink.endReport();
+    }
+
+    // 4) NESTED loops: utilisation stats
+    // Here: utilisation = assigned / total per category, for every category in the inventory
+    public void calculateUtilisationRate(ReportSink sink) throws IOException {
+        sink.beginReport("UTILISATION RATE (by category)", "category", "assigned", "total", "ratePercent");
+
+        if (manager != null) {
+            // Counters kept current by the manager: O(categories), no scan
+            for (CategoryUsage usage : manager.getCategoryUsage()) {
+                writeUtilisation(sink, usage.getCategory(), usage.getAssigned(), usage.getTotal());
+            }
+            sink.endReport();
+            return;
+        }
+
+        // One pass over the items; the inner loop finds the item's category among those seen so far
+        // (compared by dictionary key: an int compare instead of equalsIgnoreCase)
+        int[] categoryKeys = new int[8];
+        String[] categories = new String[8];
+        int[] totals = new int[8];
+        int[] assigned = new int[8];
+        int categoryCount = 0;
+        int blankCategory = AttributeDictionary.CATEGORIES.keyOf(""); // "" and "  " are skipped
+
+        for (int i = 0; i < itemCount; i++) { // outer loop
+            InventoryItem item = items[i];
+            if (!(item instanceof Equipment)) continue;
+
+            Equipment eq = (Equipment) item;
+            int key = eq.getCategoryKey();
+            if (key == AttributeDictionary.NONE || key == blankCategory) continue;
+
+            int c = 0;
+            while (c < categoryCount && categoryKeys[c] != key) c++; // inner loop (NESTED LOOPS required)
+
+            if (c == categoryCount) {
+                if (categoryCount == categories.length) {
+                    categoryKeys = Arrays.copyOf(categoryKeys, categoryCount * 2);
+                    categories = Arrays.copyOf(categories, categoryCount * 2);
+                    totals = Arrays.copyOf(totals, categoryCount * 2);
+                    assigned = Arrays.copyOf(assigned, categoryCount * 2);
+                }
+                categoryKeys[categoryCount] = key;
+                categories[categoryCount++] = eq.getCategory().trim().toUpperCase();
+            }
+
+            totals[c]++;
+            if (!item.isAvailable()) assigned[c]++;
+        }
+
+        for (int c = 0; c < categoryCount; c++) {
+            writeUtilisation(sink, categories[c], assigned[c], totals[c]);
+        }
+        sink.endReport();
+    }
+
+    // 5) DO-WHILE loop: create a simple maintenance schedule
+    // Reasonable approach: schedule items with expired warranty first, then LAB category
+    public void generateMaintenanceSchedule(ReportSink sink) throws IOException {
+        sink.beginReport("MAINTENANCE SCHEDULE", "day", "assetId", "name", "category", "warrantyMonths");
+
+        int day = 1;
+        int i = 0;
+        Equipment[] candidates = (manager != null) ? manager.findMaintenanceCandidates() : null;
+
+        if (candidates != null && runParallel(sink, candidates.length)) {
+            day += parallel.write((WriterSink) sink, candidates, candidates.length,
+                    item -> true, (chunk, item, n) -> writeMaintenanceDay(chunk, n + 1, (Equipment) item));
+        } else if (candidates == null && runParallel(sink, itemCount)) {
+            day += parallel.write((WriterSink) sink, items, itemCount,
+                    InventoryReports::needsMaintenance, (chunk, item, n) -> writeMaintenanceDay(chunk, n + 1, (Equipment) item));
+        } else if (candidates != null) {
+            // Candidates come from a scan of the store's primitive columns
+            for (Equipment eq : candidates) {
+                writeMaintenanceDay(sink, day, eq);
+                day++;
+            }
+        } else {
+            do { // DO-WHILE LOOP (required)
+                if (i >= itemCount) break;
+
+                InventoryItem item = items[i];
+
+                if (needsMaintenance(item)) {
+                    writeMaintenanceDay(sink, day, (Equipment) item);
+                    day++;
+                }
+
+                i++;
+            } while (i < itemCount);
+        }
+
+        if (day == 1) {
+            sink.message("No maintenance items scheduled.");
+        }
+        sink.endReport();
+    }
+
+    // 6) Maintenance plan from the scheduler: days packed by technician capacity per category
+    public void generateMaintenancePlan(ReportSink sink) throws IOException {
+        if (scheduler == null) {
+            generateMaintenanceSchedule(sink); // no scheduler: one item per day, as before
+            return;
+        }
+
+        sink.beginReport("MAINTENANCE PLAN (from " + scheduler.getStartDate() + ")",
+                "day", "date", "category", "id", "name", "reason", "dueDate");
+
+        List<MaintenanceTask> plan = scheduler.getPlan();
+        for (MaintenanceTask task : plan) {
+            sink.beginRow();
+            sink.value(task.getDay() + 1);
+            sink.value(scheduler.getStartDate().plusDays(task.getDay()).toString());
+            sink.value(task.getCategory());
+            sink.value(task.getItem().getId());
+            sink.value(task.getItem().getName());
+            sink.value(task.getReason());
+            sink.value(task.getDueDate().toString());
+            sink.endRow();
+        }
+
+        int backlog = scheduler.getBacklogSize();
+        if (backlog > 0) {
+            sink.message(backlog + " more item(s) beyond the " + scheduler.getHorizonDays() + "-day horizon.");
+        } else if (plan.isEmpty()) {
+            sink.message("No maintenance items scheduled.");
+        }
+        sink.endReport();
+    }
+
+    // 7) Month-end maintenance fees for an overdue ledger, totalled per department
+    public void generateFeeReport(ReportSink sink, OverdueLedger ledger) throws IOException {
+        sink.beginReport("MAINTENANCE FEES BY DEPARTMENT", "department", "fees");
+
+        if (manager == null) {
+            sink.message("Fee totals need the inventory manager.");
+            sink.endReport();
+            return;
+        }
+
+        FeeReport fees = manager.calculateMaintenanceFees(ledger);
+        for (Map.Entry<String, Double> dept : fees.getDepartmentTotals().entrySet()) {
+            sink.beginRow();
+            sink.value(dept.getKey());
+            sink.value(dept.getValue());
+            sink.endRow();
+        }
+        if (fees.getUnassignedTotal() > 0) {
+            sink.beginRow();
+            sink.value("(not assigned)");
+            sink.value(fees.getUnassignedTotal());
+            sink.endRow();
+        }
+        sink.beginRow();
+        sink.value("TOTAL");
+        sink.value(fees.getTotal());
+        sink.endRow();
+
+        if (fees.getUnknownAssets() > 0) {
+            sink.message(fees.getUnknownAssets() + " ledger entries are not in the inventory (charged 0).");
+        }
+        sink.endReport();
+    }
+
+    // Open loans past their due date (from the manager's LoanLedger), with the fee so far
+    public void generateOverdueLoansReport(ReportSink sink) throws IOException {
+        sink.beginReport("OVERDUE LOANS", "assetId", "name", "staffId", "staff", "due", "daysOverdue", "fee");
+
+        LoanLedger loans = (manager != null) ? manager.getLoanLedger() : null;
+        if (loans == null) {
+            sink.message("Overdue loans need the inventory manager with a loan ledger.");
+            sink.endReport();
+            return;
+        }
+
+        loans.tick(); // pick up anything that fell due since the last tick
+        Instant now = loans.getClock().instant();
+        List<Loan> overdue = loans.getOverdue();
+        for (Loan loan : overdue) {
+            Equipment eq = loan.getEquipment();
+            int days = loan.daysOverdue(now);
+            sink.beginRow();
+            sink.value(eq.getAssetId());
+            sink.value(eq.getName());
+            sink.value(loan.getStaff().getStaffId());
+            sink.value(loan.getStaff().getName());
+            sink.value(loan.getDueAt().toString());
+            sink.value(days);
+            sink.value(manager.calculateMaintenanceFee(eq, days));
+            sink.endRow();
+        }
+        if (overdue.isEmpty()) sink.message("No overdue loans.");
+        sink.endReport();
+    }
+
+    // Latency per operation (over the timed sample) + rejections by exception type (from InventoryMetrics)
+    public void generateMetricsReport(ReportSink sink) throws IOException {
+        sink.beginReport("OPERATION METRICS", "operation", "count", "timed", "mean ns", "p50 ns", "p90 ns", "p99 ns",
+                "p99.9 ns", "max ns", "mean results");
+
+        InventoryMetrics metrics = (manager != null) ? manager.getMetrics() : null;
+        if (metrics == null) {
+            sink.message("Metrics need the inventory manager with metrics attached.");
+            sink.endReport();
+            return;
+        }
+
+        MetricsSnapshot snapshot = metrics.snapshot();
+        for (MetricsSnapshot.OperationStats op : snapshot.getOperations()) {
+            sink.beginRow();
+            sink.value(op.getName());
+            sink.value(op.getCount());
+            sink.value(op.getSampledCount());
+            sink.value(op.getMeanNanos());
+            sink.value(op.getP50Nanos());
+            sink.value(op.getP90Nanos());
+            sink.value(op.getP99Nanos());
+            sink.value(op.getP999Nanos());
+            sink.value(op.getMaxNanos());
+            sink.value(op.hasResultSizes() ? String.format("%.1f", op.getMeanResultSize()) : "-");
+            sink.endRow();
+        }
+        for (Map.Entry<String, Long> e : snapshot.getExceptionCounts().entrySet()) {
+            sink.message(e.getKey() + ": " + e.getValue());
+        }
+        sink.endReport();
+    }
+
+    // ----------------- helpers -----------------
+    private interface Report {
+        void writeTo(ReportSink sink) throws IOException;
+    }
+
+    private void toConsole(Report report) {
+        try {
+            report.writeTo(ReportSink.text(System.out)); // flushed by endReport, System.out stays open
+        } catch (IOException e) {
+            System.out.println("Could not write report: " + e.getMessage());
+        }
+    }
+
+    private boolean runParallel(ReportSink sink, int rows) {
+        return parallel != null && rows > parallelThreshold && sink instanceof WriterSink;
+    }
+
+    private static boolean isExpired(InventoryItem item) {
+        return item instanceof Equipment && ((Equipment) item).getWarrantyMonths() == 0;
+    }
+
+    private static boolean needsMaintenance(InventoryItem item) {
+        if (!(item instanceof Equipment)) return false;
+        Equipment eq = (Equipment) item;
+        return (eq.getWarrantyMonths() == 0) || eq.getCategoryKey() == LAB;
+    }
+
+    private static void writeInventoryRow(ReportSink sink, InventoryItem item) throws IOException {
+        sink.beginRow();
+        sink.value(item.getItemType());
+        sink.value(item.getId());
+        sink.value(item.getName());
+        sink.value(item.isAvailable() ? "AVAILABLE" : "ASSIGNED");
+        sink.endRow();
+    }
+
+    private static void writeExpired(ReportSink sink, Equipment eq) throws IOException {
+        sink.beginRow();
+        sink.value(eq.getAssetId());
+        sink.value(eq.getName());
+        sink.value(eq.getBrand());
+        sink.value(eq.getCategory());
+        sink.value(eq.isAvailable());
+        sink.endRow();
+    }
+
+    private void writeAssignments(ReportSink sink, String dept, StaffMember s) throws IOException {
+        boolean any = false;
+        for (Equipment eq : s.getAssignedEquipment()) { // FOREACH LOOP
+            if (eq != null) {
+                writeAssignment(sink, dept, s, eq);
+                any = true;
+            }
+        }
+        if (!any) writeAssignment(sink, dept, s, null);
+    }
+
+    private void writeAssignment(ReportSink sink, String dept, StaffMember s, Equipment eq) throws IOException {
+        sink.beginRow();
+        sink.value(dept);
+        sink.value(s.getStaffId());
+        sink.value(s.getName());
+        sink.value(eq == null ? null : eq.getAssetId());
+        sink.value(eq == null ? null : eq.getName());
+        sink.value(eq == null ? null : eq.getCategory());
+        sink.endRow();
+    }
+
+    private void writeUtilisation(ReportSink sink, String category, int assigned, int total) throws IOException {
+        sink.beginRow();
+        sink.value(category);
+        sink.value(assigned);
+        sink.value(total);
+        sink.value((total == 0) ? 0 : (assigned * 100.0) / total);
+        sink.endRow();
+    }
+
+    private static void writeMaintenanceDay(ReportSink sink, int day, Equipment eq) throws IOException {
+        sink.beginRow();
+        sink.value(day);
+        sink.value(eq.getAssetId());
+        sink.value(eq.getName());
+        sink.value(eq.getCategory());
+        sink.value(eq.getWarrantyMonths());
+        sink.endRow();
+    }
+}
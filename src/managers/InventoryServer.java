@@ -0,0 +1,157 @@
+package Managers;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Headless line-protocol server (see CommandProcessor for the commands)
+// One thread per connection with plain blocking I/O. On Java 21+ those are virtual threads,
+// so tens of thousands of idle or slow clients cost a few KB each; on older JVMs it falls
+// back to a cached pool of platform threads. Responses are flushed only when the client has
+// nothing more buffered, so pipelined commands go back in as few writes as possible.
+public class InventoryServer implements Closeable {
+
+    private static final int ACCEPT_BACKLOG = 4096;
+    private static final int BUFFER = 8192;
+
+    private final CommandProcessor processor;
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections;
+    private final Set<Socket> open = ConcurrentHashMap.newKeySet();
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong commands = new AtomicLong();
+    private Thread acceptor;
+    private volatile boolean closed;
+
+    // port 0 picks a free port (see getPort); binds to localhost only
+    public InventoryServer(CommandProcessor processor, int port) throws IOException {
+        this.processor = processor;
+        this.serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), ACCEPT_BACKLOG);
+        this.connections = newConnectionExecutor();
+    }
+
+    public int getPort() { return serverSocket.getLocalPort(); }
+    public long getAcceptedCount() { return accepted.get(); }
+    public long getCommandCount() { return commands.get(); }
+    public int getOpenConnections() { return open.size(); }
+
+    public synchronized void start() {
+        if (acceptor != null) return;
+        acceptor = new Thread(this::acceptLoop, "inventory-server-accept");
+        acceptor.start();
+    }
+
+    // Blocks until close() (from another thread or a shutdown hook)
+    public void awaitClose() throws InterruptedException {
+        Thread t;
+        synchronized (this) {
+            t = acceptor;
+        }
+        if (t != null) t.join();
+        connections.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        serverSocket.close();
+        for (Socket s : open) {
+            try {
+                s.close();
+            } catch (IOException ignored) {
+                // already going away
+            }
+        }
+        connections.shutdown();
+    }
+
+    // Virtual-thread-per-task executor when the JVM has one (Java 21+), else a cached pool
+    // Looked up reflectively so the code still compiles and runs on older JVMs.
+    public static ExecutorService newConnectionExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(r -> {
+                Thread t = new Thread(null, r, "inventory-conn", 256 * 1024); // small stacks: many clients
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    // ----------------- helpers -----------------
+
+    private void acceptLoop() {
+        while (!closed) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                if (closed) return;
+                continue; // e.g. too many open files: keep serving the existing clients
+            }
+            accepted.incrementAndGet();
+            open.add(socket);
+            try {
+                connections.execute(() -> serve(socket));
+            } catch (RuntimeException e) {
+                open.remove(socket);
+                closeQuietly(socket);
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (Socket s = socket;
+             BufferedReader in = new BufferedReader(
+                     new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8), BUFFER);
+             Writer out = new BufferedWriter(
+                     new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8), BUFFER)) {
+            s.setTcpNoDelay(true);
+
+            String line;
+            while ((line = in.readLine()) != null) {
+                commands.incrementAndGet();
+                boolean more;
+                try {
+                    more = processor.execute(line, out);
+                } catch (RuntimeException e) {
+                    out.write("ERR ERROR " + String.valueOf(e.getMessage()).replace('\n', ' ') + "\n");
+                    more = true;
+                }
+                if (!more) break;
+                if (!in.ready()) out.flush(); // pipelined commands share one flush
+            }
+            out.flush();
+        } catch (IOException e) {
+            // client went away (possibly mid-response)
+        } finally {
+            open.remove(socket);
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // nothing more to do
+        }
+    }
+}
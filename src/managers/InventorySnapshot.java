@@ -0,0 +1,455 @@
+package Managers;
+
+import exceptions.InventoryException;
+import models.Equipment;
+import models.Furniture;
+import models.InventoryItem;
+import models.LabEquipment;
+import models.StaffMember;
+import models.StaffRole;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+// Versioned binary snapshot of every InventoryItem subtype + staff and their assignment links
+//
+// Layout (big-endian):
+//   header : int magic, int version, long journalPosition, int itemCount, int staffCount
+//   tables : int itemOffset[itemCount], int staffOffset[staffCount]
+//   records: item  = byte kind, then its fields (see writeItem)
+//            staff = int id, name, email, department, role, int n, n x (assetId, long assignedAt millis)
+// Strings are int byte length (-1 = null) + UTF-8. Older versions still load: version 1 has no
+// role (loads as STAFF), versions 1-2 have no assignedAt (those loans restart from now).
+//
+// open() maps the file and reads only the header; getItem(i) / getStaff(i) decode one record
+// straight from its offset. restore() is not lazy: it decodes every record, once, and the
+// manager then indexes all of them (addEquipmentBulk), so startup grows with the inventory -
+// about 2 s per million items, more than half of it building the indexes.
+//
+// journalPosition says where the journal tail starts for changes made after the snapshot.
+// Writing is fuzzy: a short pause (whileChangesPaused) rotates the journal and copies only what
+// decides the shape of the inventory - which rows exist under which asset ID, availability, the
+// staff under their registered IDs and what each holds. Item and staff fields are encoded later,
+// streamed to the file with no lock held, and may already show changes made after the cut;
+// those changes are all in the journal after journalPosition, and replaying it sets them again.
+// Once the file is in place the journal segments before journalPosition are deleted, so the
+// journal never grows past one snapshot interval.
+public class InventorySnapshot {
+
+    private static final int MAGIC = 0x494E5653; // "INVS"
+    private static final int VERSION = 3;
+    private static final int FIRST_VERSION_WITH_ROLE = 2;
+    private static final int FIRST_VERSION_WITH_ASSIGNED_AT = 3;
+    private static final long UNKNOWN_TIME = Long.MIN_VALUE; // assignment without a loan
+    private static final int HEADER_SIZE = 24;
+
+    // Item kinds (the journal's ADD_ITEM records use them too)
+    static final byte KIND_EQUIPMENT = 1;
+    static final byte KIND_FURNITURE = 2;
+    static final byte KIND_LAB = 3;
+
+    private final MappedByteBuffer buf;
+    private final int version;
+    private final long journalPosition;
+    private final int itemCount;
+    private final int staffCount;
+
+    private InventorySnapshot(MappedByteBuffer buf) throws IOException {
+        this.buf = buf;
+        if (buf.limit() < HEADER_SIZE || buf.getInt(0) != MAGIC) {
+            throw new IOException("Not an inventory snapshot");
+        }
+        this.version = buf.getInt(4);
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported snapshot version: " + version);
+        }
+        this.journalPosition = buf.getLong(8);
+        this.itemCount = buf.getInt(16);
+        this.staffCount = buf.getInt(20);
+    }
+
+    public static InventorySnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new InventorySnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public long getJournalPosition() { return journalPosition; }
+    public int getItemCount() { return itemCount; }
+    public int getStaffCount() { return staffCount; }
+
+    // Decodes item i on demand
+    public InventoryItem getItem(int i) {
+        ByteBuffer r = recordAt(buf.getInt(HEADER_SIZE + i * 4));
+        byte kind = r.get();
+        String id = getString(r);
+        String name = getString(r);
+        boolean available = r.get() == 1;
+
+        switch (kind) {
+            case KIND_EQUIPMENT: {
+                String brand = getString(r);
+                int warranty = r.getInt();
+                String category = getString(r);
+                return new Equipment(id, name, available, brand, warranty, category);
+            }
+            case KIND_FURNITURE:
+                return new Furniture(id, name, available, getString(r), getString(r));
+            case KIND_LAB:
+                return new LabEquipment(id, name, available, getString(r), getString(r));
+            default:
+                throw new IllegalStateException("Unknown item kind in snapshot: " + kind);
+        }
+    }
+
+    // Decodes staff member i on demand (assignments are not attached, see getAssignedAssetIds)
+    public StaffMember getStaff(int i) {
+        ByteBuffer r = staffRecord(i);
+        StaffMember s = new StaffMember(r.getInt(), getString(r), getString(r));
+        s.setDepartment(getString(r));
+        if (version >= FIRST_VERSION_WITH_ROLE) s.setRole(StaffRole.parse(getString(r)));
+        return s;
+    }
+
+    public String[] getAssignedAssetIds(int i) {
+        ByteBuffer r = assignments(i);
+        String[] assetIds = new String[r.getInt()];
+        for (int k = 0; k < assetIds.length; k++) {
+            assetIds[k] = getString(r);
+            if (version >= FIRST_VERSION_WITH_ASSIGNED_AT) r.getLong();
+        }
+        return assetIds;
+    }
+
+    // When each of getAssignedAssetIds(i) was assigned; null where not known
+    public Instant[] getAssignedTimes(int i) {
+        ByteBuffer r = assignments(i);
+        Instant[] times = new Instant[r.getInt()];
+        if (version < FIRST_VERSION_WITH_ASSIGNED_AT) return times;
+        for (int k = 0; k < times.length; k++) {
+            getString(r);
+            long millis = r.getLong();
+            if (millis != UNKNOWN_TIME) times[k] = Instant.ofEpochMilli(millis);
+        }
+        return times;
+    }
+
+    // Loads everything: equipment into the manager, staff into staff (by staffId) with their
+    // assignments re-applied, and Furniture / LabEquipment into otherItems.
+    // Items keep their saved availability; held items come back assigned to their holder.
+    // Assignments that cannot be re-applied are skipped, with one message each in skipped.
+    // The manager must not have a journal attached while restoring.
+    public void restore(InventoryManager manager, Map<Integer, StaffMember> staff, List<InventoryItem> otherItems,
+                        List<String> skipped) {
+        StaffMember[] members = new StaffMember[staffCount];
+        String[][] assigned = new String[staffCount][];
+        Instant[][] assignedAt = new Instant[staffCount][];
+        Set<String> held = new HashSet<>();
+        for (int i = 0; i < staffCount; i++) {
+            members[i] = getStaff(i);
+            assigned[i] = getAssignedAssetIds(i);
+            assignedAt[i] = getAssignedTimes(i);
+            held.addAll(Arrays.asList(assigned[i]));
+        }
+
+        Equipment[] equipment = new Equipment[itemCount];
+        int equipmentCount = 0;
+        for (int i = 0; i < itemCount; i++) {
+            InventoryItem item = getItem(i);
+            if (item instanceof Equipment) {
+                // A held item is claimed again by restoreAssignment below, which needs it free
+                if (held.contains(((Equipment) item).getAssetId())) item.setAvailable(true);
+                equipment[equipmentCount++] = (Equipment) item;
+            } else {
+                otherItems.add(item);
+            }
+        }
+        manager.addEquipmentBulk(equipment, equipmentCount); // indexes built once, in bulk
+
+        for (int i = 0; i < staffCount; i++) {
+            StaffMember s = members[i];
+            staff.put(s.getStaffId(), s);
+
+            for (int k = 0; k < assigned[i].length; k++) {
+                String assetId = assigned[i][k];
+                try {
+                    manager.restoreAssignment(s, manager.findEquipmentByAssetId(assetId), assignedAt[i][k]);
+                } catch (InventoryException e) {
+                    skipped.add("assignment of " + assetId + " to staff " + s.getStaffId() + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    // ---------------- WRITING ----------------
+
+    // Writes a snapshot to a temp file, then moves it over file (readers never see half a file)
+    // Equipment comes from the manager and staff from the directory. items is the caller's own
+    // item list: its Furniture / LabEquipment are written, its Equipment entries are ignored.
+    // The caller keeps items from changing during the call and logs new items to the journal
+    // under that same lock.
+    public static void write(Path file, InventoryManager manager, StaffDirectory staff,
+                             InventoryItem[] items, int itemCount) throws IOException {
+        capture(manager, staff, items, itemCount).writeTo(file);
+    }
+
+    // Copies the records now (the manager is paused meanwhile) and writes the file on a
+    // background thread, so the caller can keep working while the snapshot is written
+    public static CompletableFuture<Void> writeInBackground(Path file, InventoryManager manager, StaffDirectory staff,
+                                                            InventoryItem[] items, int itemCount) {
+        Captured captured;
+        try {
+            captured = capture(manager, staff, items, itemCount);
+        } catch (IOException e) {
+            CompletableFuture<Void> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        Thread writer = new Thread(() -> {
+            try {
+                captured.writeTo(file);
+                done.complete(null);
+            } catch (Throwable t) {
+                done.completeExceptionally(t);
+            }
+        }, "inventory-snapshot-writer");
+        writer.setDaemon(true);
+        writer.start();
+        return done;
+    }
+
+    // What the snapshot holds, cut in one short pause; writeTo() encodes it afterwards with no
+    // lock held, reading the item and staff fields (and loan times) as they are by then
+    private static final class Captured {
+        InventoryJournal journal; // rotated for this snapshot (null = no journal)
+        long journalPosition;
+        InventoryItem[] others;   // the caller's Furniture / LabEquipment
+        EquipmentStore.Cut equipment;
+        StaffMember[] staff;
+        int[] staffIds;           // as registered at the cut
+        Equipment[][] held;       // each staff member's items at the cut
+        LoanLedger loans;
+
+        // Streams the records to a temp file, fills in the offset tables, then moves it over file
+        void writeTo(Path file) throws IOException {
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Equipment[] rows = equipment.items;
+            int itemCount = others.length;
+            for (Equipment eq : rows) {
+                if (eq != null) itemCount++;
+            }
+            int staffCount = staff.length;
+            long recordsStart = offset(HEADER_SIZE + 4L * (itemCount + staffCount));
+            int[] itemOffsets = new int[itemCount];
+            int[] staffOffsets = new int[staffCount];
+
+            // Held items go by the asset ID their row had at the cut
+            Map<Equipment, String> heldIds = new IdentityHashMap<>();
+            for (Equipment[] items : held) {
+                for (Equipment eq : items) heldIds.put(eq, eq.getAssetId());
+            }
+
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                channel.position(recordsStart);
+                DataOutputStream out = new DataOutputStream(
+                        new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+
+                int item = 0;
+                for (InventoryItem other : others) {
+                    itemOffsets[item++] = offset(recordsStart + out.size());
+                    writeItem(out, other, other.getId(), other.isAvailable());
+                }
+                for (int row = 0; row < rows.length; row++) {
+                    Equipment eq = rows[row];
+                    if (eq == null) continue;
+                    String assetId = equipment.assetIds[row];
+                    if (heldIds.containsKey(eq)) heldIds.put(eq, assetId);
+                    itemOffsets[item++] = offset(recordsStart + out.size());
+                    writeItem(out, eq, assetId, equipment.available.get(row));
+                }
+                for (int i = 0; i < staffCount; i++) {
+                    staffOffsets[i] = offset(recordsStart + out.size());
+                    writeStaff(out, staff[i], staffIds[i], held[i], heldIds, loans);
+                }
+                offset(recordsStart + out.size()); // the last record ends within 2 GB too
+                out.flush();
+
+                ByteBuffer head = ByteBuffer.allocate(1 << 16);
+                head.putInt(MAGIC).putInt(VERSION).putLong(journalPosition).putInt(itemCount).putInt(staffCount);
+                long position = 0;
+                for (int i = 0; i < itemCount + staffCount; i++) {
+                    if (!head.hasRemaining()) position = writeAt(channel, head, position);
+                    head.putInt((i < itemCount) ? itemOffsets[i] : staffOffsets[i - itemCount]);
+                }
+                writeAt(channel, head, position);
+                channel.force(true);
+            }
+
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (journal != null) journal.deleteBefore(journalPosition); // the snapshot now covers them
+        }
+
+        private static long writeAt(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) position += channel.write(buffer, position);
+            buffer.clear();
+            return position;
+        }
+    }
+
+    // Cuts the snapshot: the journal is rotated and the rows, availability, staff and their
+    // assignments are copied while the manager holds changes off and the directory holds
+    // registrations and staffId changes off. Every change after the cut is logged after
+    // journalPosition. Costs a reference copy of the rows, not an encode of them.
+    private static Captured capture(InventoryManager manager, StaffDirectory directory,
+                                    InventoryItem[] items, int itemCount) throws IOException {
+        Captured captured = new Captured();
+        captured.loans = manager.getLoanLedger();
+        List<InventoryItem> others = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            if (items[i] != null && !(items[i] instanceof Equipment)) others.add(items[i]); // the caller holds items still
+        }
+        captured.others = others.toArray(new InventoryItem[0]);
+
+        try {
+            manager.whileChangesPaused(() -> {
+                synchronized (directory) {
+                    InventoryJournal journal = manager.getJournal();
+                    try {
+                        captured.journal = journal;
+                        captured.journalPosition = (journal != null) ? journal.rotate() : 0;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    captured.equipment = manager.cut();
+                    captured.staff = directory.toArray();
+                    captured.staffIds = directory.registeredIds();
+                }
+                captured.held = new Equipment[captured.staff.length][];
+                for (int i = 0; i < captured.staff.length; i++) {
+                    captured.held[i] = captured.staff[i].getAssignedEquipment(); // exact: the staff locks are held
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return captured;
+    }
+
+    private static void writeItem(DataOutputStream out, InventoryItem item, String id, boolean available)
+            throws IOException {
+        if (item instanceof Equipment) {
+            Equipment eq = (Equipment) item;
+            writeCommon(out, KIND_EQUIPMENT, item, id, available);
+            putString(out, eq.getBrand());
+            out.writeInt(eq.getWarrantyMonths());
+            putString(out, eq.getCategory());
+        } else if (item instanceof Furniture) {
+            Furniture f = (Furniture) item;
+            writeCommon(out, KIND_FURNITURE, item, id, available);
+            putString(out, f.getRoomNumber());
+            putString(out, f.getMaterial());
+        } else if (item instanceof LabEquipment) {
+            LabEquipment lab = (LabEquipment) item;
+            writeCommon(out, KIND_LAB, item, id, available);
+            putString(out, lab.getLabName());
+            putString(out, lab.getCalibrationDate());
+        } else {
+            throw new IOException("Cannot snapshot item type: " + item.getItemType());
+        }
+    }
+
+    private static void writeCommon(DataOutputStream out, byte kind, InventoryItem item, String id, boolean available)
+            throws IOException {
+        out.writeByte(kind);
+        putString(out, id);
+        putString(out, item.getName());
+        out.writeByte(available ? 1 : 0);
+    }
+
+    private static void writeStaff(DataOutputStream out, StaffMember s, int staffId, Equipment[] assigned,
+                                   Map<Equipment, String> heldIds, LoanLedger loans) throws IOException {
+        out.writeInt(staffId);
+        putString(out, s.getName());
+        putString(out, s.getEmail());
+        putString(out, s.getDepartment());
+        putString(out, s.getRole().name());
+
+        out.writeInt(assigned.length);
+        for (Equipment eq : assigned) {
+            putString(out, heldIds.get(eq));
+            // Read now: a loan replaced after the cut is replaced again by the journal's ASSIGN
+            Loan loan = (loans != null) ? loans.getLoan(eq) : null;
+            out.writeLong((loan != null) ? loan.getAssignedAt().toEpochMilli() : UNKNOWN_TIME);
+        }
+    }
+
+    // ----------------- helpers -----------------
+
+    private ByteBuffer recordAt(int offset) {
+        ByteBuffer r = buf.duplicate();
+        r.position(offset);
+        return r;
+    }
+
+    private ByteBuffer staffRecord(int i) {
+        return recordAt(buf.getInt(HEADER_SIZE + (itemCount + i) * 4));
+    }
+
+    // Staff record i, positioned at its assignment count
+    private ByteBuffer assignments(int i) {
+        ByteBuffer r = staffRecord(i);
+        r.getInt();
+        getString(r);
+        getString(r);
+        getString(r);
+        if (version >= FIRST_VERSION_WITH_ROLE) getString(r);
+        return r;
+    }
+
+    private static int offset(long position) throws IOException {
+        if (position >= Integer.MAX_VALUE) throw new IOException("Snapshot larger than 2 GB");
+        return (int) position;
+    }
+
+    private static void putString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String getString(ByteBuffer r) {
+        int length = r.getInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        r.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
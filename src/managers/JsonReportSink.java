@@ -0,0 +1,140 @@
+package Managers;
+
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+// One JSON object per report: {"report":"...","rows":[{"column":value,...},...]}
+// Each report ends with a newline, so several reports on one sink read as JSON Lines.
+class JsonReportSink extends WriterSink {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private boolean firstRow;
+
+    JsonReportSink(Writer out) {
+        super(out);
+    }
+
+    @Override
+    public void beginReport(String title, String... columns) throws IOException {
+        super.beginReport(title, columns);
+        out.write("{\"report\":");
+        string(title);
+        out.write(",\"rows\":[");
+        firstRow = true;
+    }
+
+    @Override
+    WriterSink chunkSink(Writer out) {
+        JsonReportSink chunk = new JsonReportSink(out);
+        chunk.columns = columns;
+        chunk.firstRow = true;
+        return chunk;
+    }
+
+    // Chunks separate their own rows; this adds the comma between chunks
+    @Override
+    void appendRows(CharArrayWriter rows, int rowCount) throws IOException {
+        if (rowCount == 0) return;
+        if (!firstRow) out.write(',');
+        firstRow = false;
+        rows.writeTo(out);
+    }
+
+    @Override
+    public void beginRow() throws IOException {
+        super.beginRow();
+        if (!firstRow) out.write(',');
+        firstRow = false;
+        out.write('{');
+    }
+
+    @Override
+    public void value(String value) throws IOException {
+        name();
+        if (value == null) {
+            out.write("null");
+        } else {
+            string(value);
+        }
+    }
+
+    @Override
+    public void value(long value) throws IOException {
+        name();
+        writeLong(value);
+    }
+
+    @Override
+    public void value(double value) throws IOException {
+        name();
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            out.write("null"); // not representable in JSON
+        } else {
+            writeDecimal(value);
+        }
+    }
+
+    @Override
+    public void value(boolean value) throws IOException {
+        name();
+        out.write(value ? "true" : "false");
+    }
+
+    @Override
+    public void endRow() throws IOException {
+        out.write('}');
+    }
+
+    @Override
+    public void message(String text) {
+        // An empty "rows" array already says the report found nothing
+    }
+
+    @Override
+    public void endReport() throws IOException {
+        out.write("]}\n");
+        super.endReport();
+    }
+
+    // "column": for the next value (extra values beyond the columns get "_N")
+    private void name() throws IOException {
+        if (column > 0) out.write(',');
+        if (column < columns.length) {
+            string(columns[column]);
+        } else {
+            out.write("\"_");
+            writeLong(column);
+            out.write('"');
+        }
+        out.write(':');
+        column++;
+    }
+
+    // Writes plain runs in one call; only the characters that need escaping go one by one
+    private void string(String s) throws IOException {
+        out.write('"');
+        int run = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\') continue;
+
+            out.write(s, run, i - run);
+            run = i + 1;
+            switch (c) {
+                case '"':  out.write("\\\""); break;
+                case '\\': out.write("\\\\"); break;
+                case '\n': out.write("\\n"); break;
+                case '\r': out.write("\\r"); break;
+                case '\t': out.write("\\t"); break;
+                default:
+                    out.write("\\u00");
+                    out.write(HEX[c >> 4]);
+                    out.write(HEX[c & 0xF]);
+            }
+        }
+        out.write(s, run, s.length() - run);
+        out.write('"');
+    }
+}
@@ -0,0 +1,89 @@
+package Managers;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Lock-free log-linear histogram (HDR-style) for non-negative values such as nanoseconds
+// Values below 16 get their own bucket; above that every power of two is split into 16
+// sub-buckets, so any recorded value is reported within 1/16 (~6%) of its true size.
+// Recording is one array increment plus two striped accumulators - no locks, no allocation.
+class LatencyHistogram {
+
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int MAX_EXPONENT = 44;                 // ~4.9 hours in ns; larger values are clamped
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    void record(long value) {
+        if (value < 0) value = 0;
+        counts.getAndIncrement(bucket(value));
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    void reset() {
+        for (int i = 0; i < BUCKETS; i++) counts.set(i, 0);
+        sum.reset();
+        max.reset();
+    }
+
+    // Consistent-enough copy for reporting (recorders are not paused)
+    Summary summarize() {
+        long[] copy = new long[BUCKETS];
+        long n = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            n += copy[i];
+        }
+        Summary s = new Summary();
+        s.count = n;
+        s.mean = (n == 0) ? 0 : (double) sum.sum() / n;
+        s.max = max.get();
+        s.p50 = Math.min(s.max, percentile(copy, n, 0.50));
+        s.p90 = Math.min(s.max, percentile(copy, n, 0.90));
+        s.p99 = Math.min(s.max, percentile(copy, n, 0.99));
+        s.p999 = Math.min(s.max, percentile(copy, n, 0.999));
+        return s;
+    }
+
+    static class Summary {
+        long count;
+        double mean;
+        long p50, p90, p99, p999, max;
+    }
+
+    // ----------------- helpers -----------------
+
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) return BUCKETS - 1;
+        int sub = (int) ((value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1));
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    // Middle of the bucket's value range
+    static long valueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        int sub = bucket % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BITS);
+        return ((long) (SUB_BUCKETS + sub) << (exponent - SUB_BITS)) + width / 2;
+    }
+
+    private static long percentile(long[] counts, long n, double p) {
+        if (n == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(p * n));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) return valueOf(i);
+        }
+        return valueOf(counts.length - 1);
+    }
+}
@@ -0,0 +1,44 @@
+package Managers;
+
+import models.Equipment;
+import models.StaffMember;
+
+import java.time.Duration;
+import java.time.Instant;
+
+// One assignment of an item to a staff member, as tracked by LoanLedger
+public class Loan extends TimerWheel.Timer {
+
+    private final Equipment equipment;
+    private final StaffMember staff;
+    private final Instant assignedAt;
+    private final Instant dueAt;
+
+    Instant returnedAt;     // null while the item is still out
+    boolean overdue;        // set when the due date passes (by LoanLedger.tick)
+
+    Loan(Equipment equipment, StaffMember staff, Instant assignedAt, Instant dueAt) {
+        this.equipment = equipment;
+        this.staff = staff;
+        this.assignedAt = assignedAt;
+        this.dueAt = dueAt;
+    }
+
+    public Equipment getEquipment() { return equipment; }
+    public StaffMember getStaff() { return staff; }
+    public Instant getAssignedAt() { return assignedAt; }
+    public Instant getDueAt() { return dueAt; }
+    public Instant getReturnedAt() { return returnedAt; }
+    public boolean isOverdue() { return overdue; }
+
+    // Days past the due date at now (0 if not yet due); counts up to the return if returned
+    // Every started day counts as a whole one: 1 ms late is 1 day, 1.5 days late is 2
+    public int daysOverdue(Instant now) {
+        Instant end = (returnedAt != null) ? returnedAt : now;
+        if (!end.isAfter(dueAt)) return 0;
+        Duration late = Duration.between(dueAt, end);
+        long days = late.toDays();
+        if (late.compareTo(Duration.ofDays(days)) > 0) days++; // ceiling: a started day is a whole one
+        return (int) Math.min(Integer.MAX_VALUE, days);
+    }
+}
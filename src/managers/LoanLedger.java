@@ -0,0 +1,222 @@
+package Managers;
+
+import models.Equipment;
+import models.StaffMember;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Open loans with their due dates + overdue detection
+// InventoryManager opens a loan on every assignment and closes it on return.
+// Each open loan is a timer in a hierarchical TimerWheel keyed on its due tick, so
+// tick() only touches the loans that have just become overdue - never the whole ledger.
+// The ledger itself is in memory only: the journal and the snapshot keep each assignment's time,
+// and restoring re-opens every loan from that time, so due dates survive a restart.
+//
+// Loans are split over SHARDS by the item's identity, each shard with its own lock and wheel:
+// desks assigning different items (under different staff locks) rarely meet on one monitor.
+public class LoanLedger {
+
+    // Told about loans the moment they become overdue (called outside the ledger lock)
+    public interface OverdueListener {
+        void overdue(Loan loan);
+    }
+
+    public static final Duration DEFAULT_LOAN_PERIOD = Duration.ofDays(14);
+    public static final Duration DEFAULT_TICK = Duration.ofMinutes(1);
+    private static final int SHARDS = 16; // power of 2
+
+    private final Clock clock;
+    private final Duration loanPeriod;
+    private final long tickMillis;
+    private final Shard[] shards = new Shard[SHARDS];
+
+    private volatile OverdueListener listener;
+    private ScheduledExecutorService ticker;
+
+    // One slice of the loans (guarded by the shard itself)
+    private static final class Shard {
+        final TimerWheel wheel;
+        // Identity keys: an item's equals() follows its assetId, which can change while it is out
+        final Map<Equipment, Loan> open = new IdentityHashMap<>();
+        final Set<Loan> overdue = new LinkedHashSet<>();      // open + overdue, in the order they fell due
+
+        Shard(long startTick) {
+            wheel = new TimerWheel(startTick);
+        }
+    }
+
+    public LoanLedger() {
+        this(Clock.systemUTC(), DEFAULT_LOAN_PERIOD, DEFAULT_TICK);
+    }
+
+    // tick is the overdue resolution: a loan is reported within one tick of its due time
+    public LoanLedger(Clock clock, Duration loanPeriod, Duration tick) {
+        if (loanPeriod.isNegative() || loanPeriod.isZero() || tick.toMillis() <= 0) {
+            throw new IllegalArgumentException("loanPeriod and tick must be positive");
+        }
+        this.clock = clock;
+        this.loanPeriod = loanPeriod;
+        this.tickMillis = tick.toMillis();
+        long now = toTick(clock.instant());
+        for (int i = 0; i < SHARDS; i++) shards[i] = new Shard(now);
+    }
+
+    public Clock getClock() { return clock; }
+    public Duration getLoanPeriod() { return loanPeriod; }
+
+    public void setOverdueListener(OverdueListener listener) {
+        this.listener = listener;
+    }
+
+    // ---------------- called by InventoryManager ----------------
+
+    // Starts a loan due loanPeriod from now (replaces any loan still open for the item)
+    Loan open(StaffMember staff, Equipment equipment) {
+        return open(staff, equipment, clock.instant());
+    }
+
+    // Starts a loan assigned at assignedAt, due loanPeriod after it: a restored assignment keeps
+    // its due date, and one already past it is overdue straight away
+    Loan open(StaffMember staff, Equipment equipment, Instant assignedAt) {
+        Loan loan = new Loan(equipment, staff, assignedAt, assignedAt.plus(loanPeriod));
+        long dueTick = ceilTick(loan.getDueAt()); // due on the first tick at or after dueAt
+        Shard shard = shardOf(equipment);
+        synchronized (shard) {
+            Loan previous = shard.open.put(equipment, loan);
+            if (previous != null) finish(shard, previous, clock.instant());
+
+            if (!shard.wheel.schedule(loan, dueTick)) {
+                loan.overdue = true;
+                shard.overdue.add(loan);
+            }
+        }
+        return loan;
+    }
+
+    // Ends the item's loan; returns it (with returnedAt set) or null if it had none
+    Loan close(Equipment equipment) {
+        Shard shard = shardOf(equipment);
+        synchronized (shard) {
+            Loan loan = shard.open.remove(equipment);
+            if (loan != null) finish(shard, loan, clock.instant());
+            return loan;
+        }
+    }
+
+    // ---------------- queries ----------------
+
+    public Loan getLoan(Equipment equipment) {
+        Shard shard = shardOf(equipment);
+        synchronized (shard) {
+            return shard.open.get(equipment);
+        }
+    }
+
+    public int getOpenCount() {
+        int count = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                count += shard.open.size();
+            }
+        }
+        return count;
+    }
+
+    // Advances the wheels to the clock's current time and returns the loans that just became overdue
+    public List<Loan> tick() {
+        long now = toTick(clock.instant());
+        List<Loan> fired = new ArrayList<>();
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                shard.wheel.advance(now, timer -> {
+                    Loan loan = (Loan) timer;
+                    loan.overdue = true;
+                    shard.overdue.add(loan);
+                    fired.add(loan);
+                });
+            }
+        }
+        fired.sort(BY_DUE); // shards fire separately
+
+        OverdueListener l = listener;
+        if (l != null) {
+            for (Loan loan : fired) l.overdue(loan);
+        }
+        return fired;
+    }
+
+    // Open loans past their due date, oldest first (as of the last tick)
+    public List<Loan> getOverdue() {
+        List<Loan> all = new ArrayList<>();
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                all.addAll(shard.overdue);
+            }
+        }
+        all.sort(BY_DUE);
+        return all;
+    }
+
+    // Overdue loans as (assetId, daysOverdue) for InventoryManager.calculateMaintenanceFees
+    public OverdueLedger toOverdueLedger() {
+        List<Loan> loans = getOverdue();
+        Instant now = clock.instant();
+        OverdueLedger ledger = new OverdueLedger();
+        for (Loan loan : loans) {
+            ledger.add(loan.getEquipment().getAssetId(), loan.daysOverdue(now));
+        }
+        return ledger;
+    }
+
+    // Calls tick() every tick period on a daemon thread (until stopTicker)
+    public synchronized void startTicker() {
+        if (ticker != null) return;
+        ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "loan-ticker");
+            t.setDaemon(true);
+            return t;
+        });
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stopTicker() {
+        if (ticker == null) return;
+        ticker.shutdownNow();
+        ticker = null;
+    }
+
+    // ----------------- helpers -----------------
+
+    private static final Comparator<Loan> BY_DUE = Comparator.comparing(Loan::getDueAt);
+
+    private Shard shardOf(Equipment equipment) {
+        int h = System.identityHashCode(equipment);
+        return shards[(h ^ (h >>> 16)) & (SHARDS - 1)];
+    }
+
+    private static void finish(Shard shard, Loan loan, Instant now) {
+        shard.wheel.cancel(loan);
+        shard.overdue.remove(loan);
+        loan.returnedAt = now;
+    }
+
+    private long toTick(Instant instant) {
+        return Math.floorDiv(instant.toEpochMilli(), tickMillis);
+    }
+
+    private long ceilTick(Instant instant) {
+        return -Math.floorDiv(-instant.toEpochMilli(), tickMillis);
+    }
+}
@@ -0,0 +1,313 @@
+package Managers;
+
+import models.AttributeDictionary;
+import models.Equipment;
+import models.EquipmentListener;
+import models.InventoryItem;
+import models.LabEquipment;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+// Maintenance plan packed into days under a per-day, per-category technician capacity
+//
+// Priority (most urgent first):
+//   LabEquipment      -> due on its calibration date (overdue dates come first)
+//   warranty expired  -> due on the start date
+//   LAB category      -> routine check, due LAB_ROUTINE_DAYS after the start date
+// Ties go to the lower warranty, then to whichever was added first.
+//
+// Each category is planned on its own: the most urgent capacity * horizonDays tasks sit in a
+// sorted list where task i works on day i / capacity; the rest wait in a PriorityQueue backlog.
+// Adding or servicing an item shifts that one category's list by a slot and moves at most one
+// task between the list and the backlog, so the plan is never recomputed from scratch.
+//
+// Attached to an InventoryManager (setChangeListener) it also follows the equipment: a warranty
+// or category change re-plans that one item, a removal drops its task, a new asset ID re-keys it.
+public class MaintenanceScheduler implements EquipmentListener {
+
+    private static final int LAB_ROUTINE_DAYS = 14;
+    // Dictionary key of the LAB category (any case / spacing)
+    private static final int LAB = AttributeDictionary.CATEGORIES.key(AttributeDictionary.CATEGORIES.encode("LAB"));
+
+    private final LocalDate startDate;
+    private final int horizonDays;
+    private final int defaultCapacity;
+
+    private final Map<String, CategoryPlan> plans = new LinkedHashMap<>();
+    private final Map<String, MaintenanceTask> tasksById = new HashMap<>();
+    private long nextSequence;
+
+    // Per category: the planned tasks in priority order + everything beyond the horizon
+    private static class CategoryPlan {
+        int capacity;
+        final List<MaintenanceTask> planned = new ArrayList<>();
+        final PriorityQueue<MaintenanceTask> backlog = new PriorityQueue<>(MaintenanceTask::compareTo);
+        int backlogSize; // backlog.size() minus tasks serviced while waiting (removed lazily)
+
+        CategoryPlan(int capacity) {
+            this.capacity = capacity;
+        }
+    }
+
+    public MaintenanceScheduler(LocalDate startDate, int horizonDays, int defaultCapacity) {
+        if (horizonDays <= 0 || defaultCapacity <= 0) {
+            throw new IllegalArgumentException("horizonDays and defaultCapacity must be positive");
+        }
+        this.startDate = startDate;
+        this.horizonDays = horizonDays;
+        this.defaultCapacity = defaultCapacity;
+    }
+
+    public LocalDate getStartDate() { return startDate; }
+    public int getHorizonDays() { return horizonDays; }
+
+    // Technicians per day for one category (re-packs that category only)
+    public synchronized void setCapacity(String category, int perDay) {
+        if (perDay <= 0) throw new IllegalArgumentException("Capacity must be positive");
+
+        CategoryPlan plan = plan(categoryKey(category));
+        plan.capacity = perDay;
+
+        // Pour everything back into the backlog and refill the horizon in priority order
+        for (MaintenanceTask task : plan.planned) {
+            task.day = -1;
+            plan.backlog.add(task);
+            plan.backlogSize++;
+        }
+        plan.planned.clear();
+        while (plan.planned.size() < limit(plan)) {
+            if (pollBacklog(plan) == null) break;
+        }
+        renumber(plan, 0);
+    }
+
+    // Schedules the item if it needs maintenance; false if it does not or is already planned
+    public synchronized boolean add(InventoryItem item) {
+        if (tasksById.containsKey(item.getId())) return false;
+        return schedule(item, nextSequence++);
+    }
+
+    public synchronized int addAll(InventoryItem[] items, int count) {
+        int added = 0;
+        for (int i = 0; i < count; i++) {
+            if (items[i] != null && add(items[i])) added++;
+        }
+        return added;
+    }
+
+    // Work on the item is done: later tasks in its category move up one slot
+    public synchronized boolean serviced(String id) {
+        return drop(id) != null;
+    }
+
+    // ---------------- equipment changes (from InventoryManager.setChangeListener) ----------------
+
+    @Override
+    public synchronized void assetIdChanging(Equipment equipment, String newAssetId) {
+        MaintenanceTask task = tasksById.remove(equipment.getId());
+        if (task != null) tasksById.put(newAssetId, task);
+    }
+
+    @Override
+    public void nameChanged(Equipment equipment, String oldName) {
+        // the plan does not depend on the name
+    }
+
+    @Override
+    public synchronized void categoryChanged(Equipment equipment, String oldCategory) {
+        replan(equipment);
+    }
+
+    @Override
+    public synchronized void warrantyChanged(Equipment equipment, int oldMonths) {
+        replan(equipment);
+    }
+
+    @Override
+    public void brandChanged(Equipment equipment, String oldBrand) {
+        // the plan does not depend on the brand
+    }
+
+    @Override
+    public synchronized void removed(Equipment equipment) {
+        drop(equipment.getId());
+    }
+
+    // Planned task for an item (null if not scheduled)
+    public synchronized MaintenanceTask getTask(String id) {
+        return tasksById.get(id);
+    }
+
+    // Every task inside the horizon, by day, then category (in first-seen order), then priority
+    public synchronized List<MaintenanceTask> getPlan() {
+        List<MaintenanceTask> result = new ArrayList<>();
+        for (int day = 0; day < horizonDays; day++) {
+            for (CategoryPlan plan : plans.values()) {
+                int from = day * plan.capacity;
+                int to = Math.min(plan.planned.size(), from + plan.capacity);
+                for (int i = from; i < to; i++) result.add(plan.planned.get(i));
+            }
+        }
+        return result;
+    }
+
+    // Tasks that did not fit inside the horizon
+    public synchronized int getBacklogSize() {
+        int total = 0;
+        for (CategoryPlan plan : plans.values()) total += plan.backlogSize;
+        return total;
+    }
+
+    public synchronized List<String> getCategories() {
+        return Collections.unmodifiableList(new ArrayList<>(plans.keySet()));
+    }
+
+    // ----------------- helpers -----------------
+
+    // Plans the item's task (if it needs one) with the given tie-break sequence
+    private boolean schedule(InventoryItem item, long sequence) {
+        MaintenanceTask task = toTask(item, sequence);
+        if (task == null) return false;
+        tasksById.put(item.getId(), task);
+
+        CategoryPlan plan = plan(task.getCategory());
+        int pos = insertionPoint(plan.planned, task);
+
+        if (pos >= limit(plan)) {
+            plan.backlog.add(task); // less urgent than the whole horizon
+            plan.backlogSize++;
+            return true;
+        }
+
+        plan.planned.add(pos, task);
+        if (plan.planned.size() > limit(plan)) {
+            // The least urgent planned task falls out of the horizon
+            MaintenanceTask bumped = plan.planned.remove(plan.planned.size() - 1);
+            bumped.day = -1;
+            plan.backlog.add(bumped);
+            plan.backlogSize++;
+        }
+        renumber(plan, pos);
+        return true;
+    }
+
+    // Takes the item's task out of the plan: later tasks in its category move up one slot
+    private MaintenanceTask drop(String id) {
+        MaintenanceTask task = tasksById.remove(id);
+        if (task == null) return null;
+        task.serviced = true;
+
+        CategoryPlan plan = plans.get(task.getCategory());
+        if (task.day < 0) {
+            plan.backlogSize--; // dropped when it reaches the head of the queue
+            return task;
+        }
+
+        int pos = insertionPoint(plan.planned, task) - 1; // task itself is the last one <= task
+        plan.planned.remove(pos);
+        pollBacklog(plan);
+        renumber(plan, pos);
+        task.day = -1;
+        return task;
+    }
+
+    // Due date or category may have moved: plan the item again, keeping its place among ties
+    // (an item that no longer needs maintenance just leaves the plan)
+    private void replan(Equipment equipment) {
+        MaintenanceTask old = drop(equipment.getId());
+        schedule(equipment, (old != null) ? old.sequence : nextSequence++);
+    }
+
+    // Builds the task for an item, or null if it needs no maintenance
+    private MaintenanceTask toTask(InventoryItem item, long sequence) {
+        long start = startDate.toEpochDay();
+
+        if (item instanceof LabEquipment) {
+            long due = parseDate(((LabEquipment) item).getCalibrationDate());
+            if (due == Long.MIN_VALUE) {
+                return new MaintenanceTask(item, "LAB", "calibration date unknown", start, Integer.MAX_VALUE, sequence);
+            }
+            String reason = (due <= start) ? "calibration overdue" : "calibration due";
+            return new MaintenanceTask(item, "LAB", reason, due, Integer.MAX_VALUE, sequence);
+        }
+
+        if (item instanceof Equipment) {
+            Equipment eq = (Equipment) item;
+            if (eq.getWarrantyMonths() == 0) {
+                return new MaintenanceTask(item, categoryKey(eq.getCategory()), "warranty expired", start, 0, sequence);
+            }
+            if (eq.getCategoryKey() == LAB) {
+                return new MaintenanceTask(item, "LAB", "LAB routine", start + LAB_ROUTINE_DAYS,
+                        eq.getWarrantyMonths(), sequence);
+            }
+        }
+        return null;
+    }
+
+    // yyyy-MM-dd as an epoch day (Long.MIN_VALUE if missing or unreadable)
+    private static long parseDate(String date) {
+        if (date == null) return Long.MIN_VALUE;
+        try {
+            return LocalDate.parse(date.trim()).toEpochDay();
+        } catch (DateTimeParseException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    private static String categoryKey(String category) {
+        String key = EquipmentStore.categoryKey(category);
+        return (key == null || key.isEmpty()) ? "OTHER" : key;
+    }
+
+    private CategoryPlan plan(String category) {
+        return plans.computeIfAbsent(category, k -> new CategoryPlan(defaultCapacity));
+    }
+
+    private int limit(CategoryPlan plan) {
+        return plan.capacity * horizonDays;
+    }
+
+    // Moves the most urgent live backlog task to the end of the plan (null if none)
+    private MaintenanceTask pollBacklog(CategoryPlan plan) {
+        MaintenanceTask next;
+        do {
+            next = plan.backlog.poll();
+        } while (next != null && next.serviced);
+
+        if (next != null) {
+            plan.backlogSize--;
+            plan.planned.add(next);
+        }
+        return next;
+    }
+
+    // Days only change for tasks from pos on
+    private static void renumber(CategoryPlan plan, int pos) {
+        for (int i = pos; i < plan.planned.size(); i++) {
+            plan.planned.get(i).day = i / plan.capacity;
+        }
+    }
+
+    // First index whose task is less urgent than task
+    private static int insertionPoint(List<MaintenanceTask> planned, MaintenanceTask task) {
+        int lo = 0;
+        int hi = planned.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (planned.get(mid).compareTo(task) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
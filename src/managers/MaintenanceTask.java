@@ -0,0 +1,43 @@
+package Managers;
+
+import models.InventoryItem;
+
+import java.time.LocalDate;
+
+// One item waiting for maintenance, as planned by MaintenanceScheduler
+public class MaintenanceTask {
+
+    private final InventoryItem item;
+    private final String category;
+    private final String reason;
+    private final long dueDay;      // epoch day the work is due (earlier = more urgent)
+    private final int warranty;     // tie-break: expired warranties first
+    final long sequence;            // tie-break: first added first (kept when re-planned)
+
+    int day = -1;                   // plan day (-1 = still in the backlog)
+    boolean serviced;
+
+    MaintenanceTask(InventoryItem item, String category, String reason, long dueDay, int warranty, long sequence) {
+        this.item = item;
+        this.category = category;
+        this.reason = reason;
+        this.dueDay = dueDay;
+        this.warranty = warranty;
+        this.sequence = sequence;
+    }
+
+    public InventoryItem getItem() { return item; }
+    public String getCategory() { return category; }
+    public String getReason() { return reason; }
+    public LocalDate getDueDate() { return LocalDate.ofEpochDay(dueDay); }
+
+    // Day in the plan (0 = the scheduler's start date), -1 if beyond the planning horizon
+    public int getDay() { return day; }
+
+    // Priority order inside a category: due date, then warranty, then insertion order
+    int compareTo(MaintenanceTask other) {
+        if (dueDay != other.dueDay) return Long.compare(dueDay, other.dueDay);
+        if (warranty != other.warranty) return Integer.compare(warranty, other.warranty);
+        return Long.compare(sequence, other.sequence);
+    }
+}
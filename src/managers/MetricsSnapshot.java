@@ -0,0 +1,60 @@
+package Managers;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+// Point-in-time copy of InventoryMetrics (latencies in nanoseconds)
+public class MetricsSnapshot {
+
+    public static class OperationStats {
+        private final String name;
+        private final long count;
+        private final LatencyHistogram.Summary latency;     // timed sample of the calls
+        private final LatencyHistogram.Summary results;     // null unless the operation is a search
+
+        OperationStats(String name, long count, LatencyHistogram.Summary latency, LatencyHistogram.Summary results) {
+            this.name = name;
+            this.count = count;
+            this.latency = latency;
+            this.results = results;
+        }
+
+        public String getName() { return name; }
+        public long getCount() { return count; }
+        public long getSampledCount() { return latency.count; }
+        public double getMeanNanos() { return latency.mean; }
+        public long getP50Nanos() { return latency.p50; }
+        public long getP90Nanos() { return latency.p90; }
+        public long getP99Nanos() { return latency.p99; }
+        public long getP999Nanos() { return latency.p999; }
+        public long getMaxNanos() { return latency.max; }
+
+        public boolean hasResultSizes() { return results != null; }
+        public double getMeanResultSize() { return (results != null) ? results.mean : 0; }
+        public long getP50ResultSize() { return (results != null) ? results.p50 : 0; }
+        public long getP99ResultSize() { return (results != null) ? results.p99 : 0; }
+        public long getMaxResultSize() { return (results != null) ? results.max : 0; }
+    }
+
+    private final OperationStats[] operations;
+    private final Map<String, Long> exceptionCounts;
+
+    MetricsSnapshot(OperationStats[] operations, Map<String, Long> exceptionCounts) {
+        this.operations = operations;
+        this.exceptionCounts = Collections.unmodifiableMap(exceptionCounts);
+    }
+
+    public List<OperationStats> getOperations() {
+        return Collections.unmodifiableList(Arrays.asList(operations));
+    }
+
+    public OperationStats get(InventoryMetrics.Operation op) {
+        return operations[op.ordinal()];
+    }
+
+    public Map<String, Long> getExceptionCounts() {
+        return exceptionCounts;
+    }
+}
@@ -0,0 +1,140 @@
+package Managers;
+
+import java.util.Arrays;
+
+// Trigram inverted index over equipment names (used by searchEquipment(String name))
+// Each 3-character window of the lowercased name maps to a sorted list of inventory rows.
+// A substring query intersects the lists for its own trigrams, then confirms each candidate.
+// Every 1- and 2-character window is posted too, so a query that short is one exact lookup.
+class NameIndex {
+
+    private final TrigramTable postings = new TrigramTable();
+
+    // Lowercased name per row, computed once at index time (null = row not indexed)
+    private String[] lowerNames = new String[16];
+
+    void add(int row, String name) {
+        if (row >= lowerNames.length) {
+            lowerNames = Arrays.copyOf(lowerNames, Math.max(row + 1, lowerNames.length * 2));
+        }
+        if (name == null) {
+            lowerNames[row] = null;
+            return;
+        }
+
+        String lower = name.toLowerCase();
+        lowerNames[row] = lower;
+
+        for (int n = 1; n <= 3; n++) {
+            for (int i = 0; i + n <= lower.length(); i++) {
+                postings.getOrCreate(gram(lower, i, n)).add(row); // RowList skips repeats
+            }
+        }
+    }
+
+    void remove(int row) {
+        if (row >= lowerNames.length) return;
+        String lower = lowerNames[row];
+        lowerNames[row] = null;
+        if (lower == null) return;
+
+        for (int n = 1; n <= 3; n++) {
+            for (int i = 0; i + n <= lower.length(); i++) {
+                long key = gram(lower, i, n);
+                RowList list = postings.get(key);
+                if (list != null) {
+                    list.remove(row);
+                    if (list.size == 0) postings.remove(key);
+                }
+            }
+        }
+    }
+
+    void rename(int row, String newName) {
+        remove(row);
+        add(row, newName);
+    }
+
+    // Returns the matching rows in ascending order
+    // target must already be trimmed + lowercased
+    int[] search(String target, int rowCount) {
+        if (target.isEmpty()) {
+            return scan(target, rowCount); // every name matches
+        }
+        if (target.length() < 3) {
+            RowList list = postings.get(gram(target, 0, target.length()));
+            return (list == null) ? new int[0] : Arrays.copyOf(list.rows, list.size); // exact, no check
+        }
+
+        // Collect the posting list for every trigram in the query
+        int gramCount = target.length() - 2;
+        RowList[] lists = new RowList[gramCount];
+        for (int i = 0; i < gramCount; i++) {
+            RowList list = postings.get(trigram(target, i));
+            if (list == null) return new int[0]; // some trigram never occurs
+            lists[i] = list;
+        }
+
+        // Intersect starting from the shortest list
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+        int[] candidates = Arrays.copyOf(lists[0].rows, lists[0].size);
+        int count = candidates.length;
+
+        for (int l = 1; l < lists.length && count > 0; l++) {
+            if (lists[l] == lists[l - 1]) continue; // repeated trigram
+            count = intersect(candidates, count, lists[l]);
+        }
+
+        // Trigrams can match out of order, so confirm the real substring
+        int found = 0;
+        for (int i = 0; i < count; i++) {
+            int row = candidates[i];
+            if (lowerNames[row].contains(target)) {
+                candidates[found++] = row;
+            }
+        }
+        return Arrays.copyOf(candidates, found);
+    }
+
+    // ----------------- helpers -----------------
+
+    private int[] scan(String target, int rowCount) {
+        int limit = Math.min(rowCount, lowerNames.length);
+        int[] rows = new int[limit];
+        int count = 0;
+        for (int row = 0; row < limit; row++) {
+            if (lowerNames[row] != null && lowerNames[row].contains(target)) {
+                rows[count++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    // Keeps only the candidates that also appear in list (both sorted)
+    private int intersect(int[] candidates, int count, RowList list) {
+        int kept = 0;
+        int j = 0;
+        for (int i = 0; i < count && j < list.size; i++) {
+            int row = candidates[i];
+            while (j < list.size && list.rows[j] < row) j++;
+            if (j < list.size && list.rows[j] == row) {
+                candidates[kept++] = row;
+            }
+        }
+        return kept;
+    }
+
+    private static long trigram(String s, int start) {
+        return ((long) s.charAt(start) << 32) | ((long) s.charAt(start + 1) << 16) | s.charAt(start + 2);
+    }
+
+    // Key of the n-character window at start (n = 1..3); shorter windows are tagged above
+    // bit 48 so they never collide with a trigram
+    private static long gram(String s, int start, int n) {
+        switch (n) {
+            case 1: return (2L << 48) | s.charAt(start);
+            case 2: return (1L << 48) | ((long) s.charAt(start) << 16) | s.charAt(start + 1);
+            default: return trigram(s, start);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package Managers;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+// Month-end overdue ledger: (assetId, daysOverdue) pairs kept as two parallel arrays
+// Input to InventoryManager.calculateMaintenanceFees.
+public class OverdueLedger {
+
+    private String[] assetIds = new String[16];
+    private int[] daysOverdue = new int[16];
+    private int size;
+
+    public void add(String assetId, int days) {
+        if (size == assetIds.length) {
+            assetIds = Arrays.copyOf(assetIds, size * 2);
+            daysOverdue = Arrays.copyOf(daysOverdue, size * 2);
+        }
+        assetIds[size] = assetId;
+        daysOverdue[size] = days;
+        size++;
+    }
+
+    public int size() { return size; }
+    public String getAssetId(int i) { return assetIds[i]; }
+    public int getDaysOverdue(int i) { return daysOverdue[i]; }
+
+    // Reads "assetId,daysOverdue" lines (a header line and blank lines are skipped)
+    // Returns the ledger; lines that do not parse are counted in skipped[0] if given
+    public static OverdueLedger read(Path file, int[] skipped) throws IOException {
+        OverdueLedger ledger = new OverdueLedger();
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            boolean first = true;
+            while ((line = in.readLine()) != null) {
+                int comma = line.indexOf(',');
+                if (line.trim().isEmpty()) continue;
+                try {
+                    if (comma < 0) throw new NumberFormatException();
+                    ledger.add(line.substring(0, comma).trim(), Integer.parseInt(line.substring(comma + 1).trim()));
+                } catch (NumberFormatException e) {
+                    if (!first && skipped != null) skipped[0]++; // first bad line = header
+                }
+                first = false;
+            }
+        }
+        return ledger;
+    }
+}
@@ -0,0 +1,130 @@
+package Managers;
+
+import models.InventoryItem;
+
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+// Fork-join execution for the full-inventory reports
+// The item array is cut into chunks of `threshold` items. Each chunk is filtered and then
+// encoded in parallel into its own buffer (by a chunk sink of the same format), and the
+// buffers are appended to the real sink strictly in chunk order, so the output is exactly
+// what the sequential loop writes. Chunks are processed in waves of a few per worker,
+// so memory stays bounded however large the inventory is.
+class ParallelReportWriter {
+
+    interface RowFilter {
+        boolean accept(InventoryItem item);
+    }
+
+    // ordinal = position of the row in the whole report (0-based)
+    interface RowEncoder {
+        void write(ReportSink sink, InventoryItem item, int ordinal) throws IOException;
+    }
+
+    private static final int CHUNKS_PER_WORKER = 2;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    ParallelReportWriter(ForkJoinPool pool, int threshold) {
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    // Writes a row for every accepted item; returns how many rows were written
+    int write(WriterSink sink, InventoryItem[] items, int count,
+              RowFilter filter, RowEncoder encoder) throws IOException {
+        int chunks = (count + threshold - 1) / threshold;
+        int wave = Math.max(1, pool.getParallelism() * CHUNKS_PER_WORKER);
+        int written = 0;
+
+        for (int first = 0; first < chunks; first += wave) {
+            int waveStart = first;
+            int size = Math.min(chunks, first + wave) - first;
+
+            // 1) filter every chunk of the wave
+            int[][] matches = new int[size][];
+            run(size, k -> matches[k] = filter(items, count, waveStart + k, filter));
+
+            // 2) global row number of each chunk's first row
+            int[] base = new int[size];
+            for (int k = 0; k < size; k++) {
+                base[k] = written;
+                written += matches[k].length;
+            }
+
+            // 3) encode the chunks, 4) append them in order
+            CharArrayWriter[] encoded = new CharArrayWriter[size];
+            run(size, k -> encoded[k] = encode(sink, items, matches[k], base[k], encoder));
+            for (int k = 0; k < size; k++) {
+                sink.appendRows(encoded[k], matches[k].length);
+            }
+        }
+        return written;
+    }
+
+    private int[] filter(InventoryItem[] items, int count, int chunk, RowFilter filter) {
+        int from = chunk * threshold;
+        int to = Math.min(count, from + threshold);
+        int[] rows = new int[to - from];
+        int found = 0;
+        for (int i = from; i < to; i++) {
+            if (filter.accept(items[i])) rows[found++] = i;
+        }
+        return Arrays.copyOf(rows, found);
+    }
+
+    private static CharArrayWriter encode(WriterSink sink, InventoryItem[] items, int[] rows,
+                                          int base, RowEncoder encoder) {
+        CharArrayWriter buffer = new CharArrayWriter(rows.length * 64);
+        WriterSink chunkSink = sink.chunkSink(buffer);
+        try {
+            for (int r = 0; r < rows.length; r++) {
+                encoder.write(chunkSink, items[rows[r]], base + r);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer;
+    }
+
+    // Runs body(0..size-1) as fork-join tasks and waits for all of them
+    private void run(int size, IntConsumer body) throws IOException {
+        try {
+            pool.invoke(new ChunkTask(0, size, body));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Splits [from, to) in halves down to single chunks
+    private static class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final IntConsumer body;
+
+        ChunkTask(int from, int to, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                body.accept(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ChunkTask(from, mid, body), new ChunkTask(mid, to, body));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package Managers;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+// Where InventoryReports writes its rows
+// A report is: beginReport(title, columns), then rows of values in column order, then endReport.
+// Encoders write each value straight into a buffered Writer, so a report streams out in
+// constant memory whatever its size. endReport flushes; close also closes the Writer.
+public interface ReportSink extends Closeable {
+
+    void beginReport(String title, String... columns) throws IOException;
+
+    void beginRow() throws IOException;
+
+    void value(String value) throws IOException;
+
+    void value(long value) throws IOException;
+
+    // Written with 2 decimal places
+    void value(double value) throws IOException;
+
+    void value(boolean value) throws IOException;
+
+    void endRow() throws IOException;
+
+    // Human-readable remark such as "No expired warranties found." (only the text encoder shows it)
+    void message(String text) throws IOException;
+
+    void endReport() throws IOException;
+
+    // ---------------- encoders ----------------
+
+    static ReportSink text(Writer out) { return new TextReportSink(buffered(out)); }
+    static ReportSink csv(Writer out) { return new CsvReportSink(buffered(out)); }
+    static ReportSink json(Writer out) { return new JsonReportSink(buffered(out)); }
+
+    static ReportSink text(OutputStream out) { return text(utf8(out)); }
+    static ReportSink csv(OutputStream out) { return csv(utf8(out)); }
+    static ReportSink json(OutputStream out) { return json(utf8(out)); }
+
+    private static Writer utf8(OutputStream out) {
+        return new OutputStreamWriter(out, StandardCharsets.UTF_8);
+    }
+
+    private static Writer buffered(Writer out) {
+        return (out instanceof BufferedWriter) ? out : new BufferedWriter(out, 1 << 16);
+    }
+}
@@ -0,0 +1,37 @@
+package Managers;
+
+import java.util.Arrays;
+
+// Sorted, duplicate-free list of inventory rows (posting list shared by the indexes)
+class RowList {
+    int[] rows = new int[4];
+    int size;
+
+    void add(int row) {
+        if (size == 0 || rows[size - 1] < row) {
+            if (size == rows.length) rows = Arrays.copyOf(rows, size * 2);
+            rows[size++] = row; // common case: rows only grow
+            return;
+        }
+        int pos = Arrays.binarySearch(rows, 0, size, row);
+        if (pos >= 0) return; // already present
+        pos = -pos - 1;
+        if (size == rows.length) rows = Arrays.copyOf(rows, size * 2);
+        System.arraycopy(rows, pos, rows, pos + 1, size - pos);
+        rows[pos] = row;
+        size++;
+    }
+
+    void remove(int row) {
+        int pos = Arrays.binarySearch(rows, 0, size, row);
+        if (pos < 0) return;
+        System.arraycopy(rows, pos + 1, rows, pos, size - pos - 1);
+        size--;
+    }
+
+    // Copies the rows into dest starting at offset, returns the next offset
+    int copyTo(int[] dest, int offset) {
+        System.arraycopy(rows, 0, dest, offset, size);
+        return offset + size;
+    }
+}
@@ -0,0 +1,44 @@
+package Managers;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Growable array whose slots can be written without any lock (used for item holders)
+// Slots live in fixed-size segments, like AtomicBitSet: growing only appends segments, so a
+// write to an existing slot never lands in an array that a resize has already copied.
+class SegmentedArray<E> {
+
+    private static final int SEGMENT_SHIFT = 12;                    // 4096 slots per segment
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+
+    private volatile AtomicReferenceArray<E>[] segments = newSegments(0);
+
+    // Makes sure slots [0, size) exist
+    synchronized void ensureCapacity(int size) {
+        int needed = (size + SEGMENT_SIZE - 1) >>> SEGMENT_SHIFT;
+        AtomicReferenceArray<E>[] current = segments;
+        if (needed <= current.length) return;
+
+        AtomicReferenceArray<E>[] grown = newSegments(Math.max(needed, current.length * 2));
+        System.arraycopy(current, 0, grown, 0, current.length);
+        for (int i = current.length; i < grown.length; i++) {
+            grown[i] = new AtomicReferenceArray<>(SEGMENT_SIZE);
+        }
+        segments = grown;
+    }
+
+    E get(int index) {
+        AtomicReferenceArray<E>[] segs = segments;
+        int seg = index >>> SEGMENT_SHIFT;
+        if (seg >= segs.length) return null;
+        return segs[seg].get(index & (SEGMENT_SIZE - 1));
+    }
+
+    void set(int index, E value) {
+        segments[index >>> SEGMENT_SHIFT].set(index & (SEGMENT_SIZE - 1), value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> AtomicReferenceArray<E>[] newSegments(int count) {
+        return (AtomicReferenceArray<E>[]) new AtomicReferenceArray<?>[count];
+    }
+}
@@ -0,0 +1,261 @@
+package Managers;
+
+import models.StaffListener;
+import models.StaffMember;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+
+// Every registered staff member, looked up by staffId or by email
+//
+// staffId -> staff is an open-addressing table on a primitive int[] (no Integer boxing), so a
+// lookup is a hash and a short linear probe whatever the size. Staff also sit in an array in
+// registration order for the reports and the snapshot. Emails are matched trimmed and
+// case-insensitively; blank emails are allowed and simply not indexed.
+//
+// register() refuses a staffId or email that is already taken. The directory then listens to
+// the staff member, so a later setStaffId / setEmail to a taken value is rejected before it
+// happens, department changes are passed on to the DepartmentIndex and, with a journal
+// attached, every registration and change is logged.
+//
+// Writes are synchronized; findById reads optimistically (StampedLock) and only takes the read
+// lock if a write ran at the same time, so server connections do not queue behind each other.
+public class StaffDirectory implements StaffListener {
+
+    private static final int INITIAL_CAPACITY = 64; // table slots, power of 2, at most half full
+
+    private final DepartmentIndex departments; // may be null
+    private final StampedLock lock = new StampedLock();
+
+    private volatile Table table = new Table(INITIAL_CAPACITY);
+    private volatile StaffMember[] members = new StaffMember[INITIAL_CAPACITY / 2];
+    private volatile int size;
+    private final Map<String, StaffMember> byEmail = new ConcurrentHashMap<>();
+    private volatile InventoryJournal journal;
+
+    // keys[i] is the staffId in slot i, rows[i] its index in members + 1 (0 = empty slot).
+    // Replaced as a whole on resize so an optimistic reader never mixes two generations.
+    private static final class Table {
+        final int[] keys;
+        final int[] rows;
+
+        Table(int capacity) {
+            keys = new int[capacity];
+            rows = new int[capacity];
+        }
+    }
+
+    public StaffDirectory() {
+        this(null);
+    }
+
+    // Staff registered here are also grouped in departments
+    public StaffDirectory(DepartmentIndex departments) {
+        this.departments = departments;
+    }
+
+    // Attach (or detach with null) the journal that staff changes are logged to
+    public void setJournal(InventoryJournal journal) {
+        this.journal = journal;
+    }
+
+    // False (and nothing changes) if the staffId or the email is already registered
+    // The registration is logged under the directory lock, so a snapshot that copies toArray()
+    // after reading the journal position either holds the member or replays the record.
+    public boolean register(StaffMember staff) {
+        InventoryJournal j = journal;
+        long position;
+        synchronized (this) {
+            if (findById(staff.getStaffId()) != null) return false;
+            String email = emailKey(staff.getEmail());
+            if (email != null && byEmail.containsKey(email)) return false;
+
+            add(staff);
+            if (email != null) byEmail.put(email, staff);
+            position = (j != null) ? j.logStaff(staff) : 0;
+        }
+        if (j != null) j.awaitDurable(position); // outside the lock: fsync waits
+        return true;
+    }
+
+    // Staff loaded from saved state: staffIds are already unique there, but older data may
+    // share an email. The member is kept either way; a taken email just stays with its first owner.
+    public synchronized void restore(StaffMember staff) {
+        if (findById(staff.getStaffId()) != null) return;
+        add(staff);
+        String email = emailKey(staff.getEmail());
+        if (email != null) byEmail.putIfAbsent(email, staff);
+    }
+
+    public StaffMember findById(int staffId) {
+        long stamp = lock.tryOptimisticRead();
+        StaffMember found = lookup(staffId);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                found = lookup(staffId);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return found;
+    }
+
+    public StaffMember findByEmail(String email) {
+        String key = emailKey(email);
+        return (key == null) ? null : byEmail.get(key);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Registration order
+    public synchronized StaffMember[] toArray() {
+        return Arrays.copyOf(members, size);
+    }
+
+    // Logged here, before the new ID is findable or set on staff: replay then never meets an
+    // assignment under an ID it has not seen yet. detailsChanged only waits for it to be durable.
+    // The staffId each of toArray() is registered under. It can be ahead of the member's own
+    // field, which setStaffId changes after staffIdChanging has logged the change.
+    synchronized int[] registeredIds() {
+        Table t = table;
+        int[] ids = new int[size];
+        for (int i = 0; i < t.keys.length; i++) {
+            if (t.rows[i] != 0) ids[t.rows[i] - 1] = t.keys[i];
+        }
+        return ids;
+    }
+
+    @Override
+    public synchronized void staffIdChanging(StaffMember staff, int newStaffId) {
+        if (newStaffId == staff.getStaffId()) return;
+        if (findById(newStaffId) != null) {
+            throw new IllegalArgumentException("Staff ID already registered: " + newStaffId);
+        }
+        InventoryJournal j = journal;
+        if (j != null) j.logStaffUpdate(staff.getStaffId(), newStaffId, staff);
+        long stamp = lock.writeLock();
+        try {
+            int row = removeKey(staff.getStaffId());
+            if (row != 0) insertKey(table, newStaffId, row);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public synchronized void emailChanging(StaffMember staff, String newEmail) {
+        String oldKey = emailKey(staff.getEmail());
+        String newKey = emailKey(newEmail);
+        if (newKey != null && !newKey.equals(oldKey)) {
+            StaffMember owner = byEmail.get(newKey);
+            if (owner != null && owner != staff) {
+                throw new IllegalArgumentException("Email already registered: " + newEmail.trim());
+            }
+        }
+        if (oldKey != null) byEmail.remove(oldKey, staff);
+        if (newKey != null) byEmail.put(newKey, staff);
+    }
+
+    @Override
+    public void departmentChanged(StaffMember staff, String oldDepartment) {
+        if (departments != null) departments.departmentChanged(staff, oldDepartment);
+    }
+
+    @Override
+    public void detailsChanged(StaffMember staff, int oldStaffId) {
+        InventoryJournal j = journal;
+        if (j == null) return;
+        // An ID change was logged by staffIdChanging
+        long logged = (oldStaffId != staff.getStaffId()) ? j.position() : j.logStaffUpdate(oldStaffId, staff);
+        j.awaitDurable(logged); // no lock held: fsync waits
+    }
+
+    // ----------------- helpers -----------------
+
+    private void add(StaffMember staff) {
+        long stamp = lock.writeLock();
+        try {
+            if (size == members.length) {
+                members = Arrays.copyOf(members, size * 2);
+            }
+            members[size] = staff;
+            size++;
+            if (size * 2 > table.keys.length) resize();
+            insertKey(table, staff.getStaffId(), size);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        if (departments != null) departments.added(staff);
+        staff.setListener(this);
+    }
+
+    private StaffMember lookup(int staffId) {
+        Table t = table;
+        StaffMember[] m = members;
+        int mask = t.keys.length - 1;
+        for (int i = slot(staffId, mask), probes = 0; probes <= mask; i = (i + 1) & mask, probes++) {
+            int row = t.rows[i];
+            if (row == 0) return null;
+            if (t.keys[i] == staffId) return (row <= m.length) ? m[row - 1] : null;
+        }
+        return null;
+    }
+
+    private static void insertKey(Table t, int staffId, int row) {
+        int mask = t.keys.length - 1;
+        int i = slot(staffId, mask);
+        while (t.rows[i] != 0) i = (i + 1) & mask;
+        t.keys[i] = staffId;
+        t.rows[i] = row;
+    }
+
+    // Row of the removed key (0 if absent); backward-shift delete keeps probe runs unbroken
+    private int removeKey(int staffId) {
+        int[] keys = table.keys;
+        int[] rows = table.rows;
+        int mask = keys.length - 1;
+        int i = slot(staffId, mask);
+        while (rows[i] != 0 && keys[i] != staffId) i = (i + 1) & mask;
+        int row = rows[i];
+        if (row == 0) return 0;
+
+        int gap = i;
+        for (int j = (gap + 1) & mask; rows[j] != 0; j = (j + 1) & mask) {
+            int home = slot(keys[j], mask);
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                rows[gap] = rows[j];
+                gap = j;
+            }
+        }
+        rows[gap] = 0;
+        return row;
+    }
+
+    private void resize() {
+        Table old = table;
+        Table bigger = new Table(old.keys.length * 2);
+        for (int i = 0; i < old.keys.length; i++) {
+            if (old.rows[i] != 0) insertKey(bigger, old.keys[i], old.rows[i]);
+        }
+        table = bigger;
+    }
+
+    // Sequential ids would cluster in one probe run, so spread them first
+    private static int slot(int staffId, int mask) {
+        int h = staffId * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private static String emailKey(String email) {
+        if (email == null) return null;
+        String key = email.trim().toLowerCase(Locale.ROOT);
+        return key.isEmpty() ? null : key;
+    }
+}
@@ -0,0 +1,73 @@
+package Managers;
+
+import java.io.IOException;
+import java.io.Writer;
+
+// Console-style output: a "--- TITLE ---" banner, a column header, then "a | b | c" rows
+class TextReportSink extends WriterSink {
+
+    private static final String SEPARATOR = " | ";
+
+    TextReportSink(Writer out) {
+        super(out);
+    }
+
+    @Override
+    public void beginReport(String title, String... columns) throws IOException {
+        super.beginReport(title, columns);
+        out.write("\n--- ");
+        out.write(title);
+        out.write(" ---\n");
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) out.write(SEPARATOR);
+            out.write(columns[i]);
+        }
+        out.write('\n');
+    }
+
+    @Override
+    WriterSink chunkSink(Writer out) {
+        TextReportSink chunk = new TextReportSink(out);
+        chunk.columns = columns;
+        return chunk;
+    }
+
+    @Override
+    public void value(String value) throws IOException {
+        separator();
+        if (value != null) out.write(value);
+    }
+
+    @Override
+    public void value(long value) throws IOException {
+        separator();
+        writeLong(value);
+    }
+
+    @Override
+    public void value(double value) throws IOException {
+        separator();
+        writeDecimal(value);
+    }
+
+    @Override
+    public void value(boolean value) throws IOException {
+        separator();
+        out.write(value ? "yes" : "no");
+    }
+
+    @Override
+    public void endRow() throws IOException {
+        out.write('\n');
+    }
+
+    @Override
+    public void message(String text) throws IOException {
+        out.write(text);
+        out.write('\n');
+    }
+
+    private void separator() throws IOException {
+        if (column++ > 0) out.write(SEPARATOR);
+    }
+}
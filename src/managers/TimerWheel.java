@@ -0,0 +1,119 @@
+package Managers;
+
+import java.util.function.Consumer;
+
+// Hierarchical timing wheel (4 levels x 64 slots, so 2^24 ticks ahead)
+// A timer lands in the level whose slot width fits its distance from now. Each tick drains
+// one level-0 slot; every 64 ticks the next level-1 slot is cascaded down into level 0,
+// and so on up. Schedule, cancel and per-tick work are O(1) apart from the timers that fire.
+// Timers further out than the top level are parked in its farthest slot and re-placed
+// on cascade. Not thread-safe: the owner locks around it.
+class TimerWheel {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long RANGE = 1L << (BITS * LEVELS);
+
+    // Intrusive list node: the timer itself, so cancel is an unlink
+    static class Timer {
+        long deadline;       // tick the timer fires on
+        Timer prev;
+        Timer next;
+        int level = -1;      // -1 = not scheduled
+        int slot;
+    }
+
+    private final Timer[][] heads = new Timer[LEVELS][SLOTS];
+    private long currentTick;
+    private int size;
+
+    TimerWheel(long startTick) {
+        this.currentTick = startTick;
+    }
+
+    long currentTick() { return currentTick; }
+    int size() { return size; }
+
+    // Schedules timer for deadline; false (not scheduled) if deadline is not after the current tick
+    boolean schedule(Timer timer, long deadline) {
+        cancel(timer);
+        timer.deadline = deadline;
+        if (deadline <= currentTick) return false;
+        place(timer);
+        size++;
+        return true;
+    }
+
+    void cancel(Timer timer) {
+        if (timer.level < 0) return;
+        unlink(timer);
+        size--;
+    }
+
+    // Moves time forward to tick, handing every timer that fires to expired (in tick order)
+    void advance(long tick, Consumer<Timer> expired) {
+        while (currentTick < tick) {
+            currentTick++;
+
+            // Cascade: at each 64-tick boundary pull the next slot of the level above down
+            for (int level = 1; level < LEVELS; level++) {
+                long shifted = currentTick >>> (BITS * (level - 1));
+                if ((shifted & MASK) != 0) break;
+                cascade(level, (int) ((currentTick >>> (BITS * level)) & MASK));
+            }
+
+            int slot = (int) (currentTick & MASK);
+            Timer timer = heads[0][slot];
+            while (timer != null) {
+                Timer next = timer.next;
+                unlink(timer);
+                size--;
+                expired.accept(timer);
+                timer = next;
+            }
+        }
+    }
+
+    // ----------------- helpers -----------------
+
+    private void place(Timer timer) {
+        long delta = Math.min(timer.deadline - currentTick, RANGE - 1);
+        long target = currentTick + delta;
+
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << (BITS * (level + 1)))) level++;
+
+        int slot = (int) ((target >>> (BITS * level)) & MASK);
+        timer.level = level;
+        timer.slot = slot;
+        timer.prev = null;
+        timer.next = heads[level][slot];
+        if (timer.next != null) timer.next.prev = timer;
+        heads[level][slot] = timer;
+    }
+
+    private void cascade(int level, int slot) {
+        Timer timer = heads[level][slot];
+        heads[level][slot] = null;
+        while (timer != null) {
+            Timer next = timer.next;
+            timer.level = -1;
+            place(timer); // lands in a lower level (or back up top if still out of range)
+            timer = next;
+        }
+    }
+
+    private void unlink(Timer timer) {
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else {
+            heads[timer.level][timer.slot] = timer.next;
+        }
+        if (timer.next != null) timer.next.prev = timer.prev;
+        timer.prev = null;
+        timer.next = null;
+        timer.level = -1;
+    }
+}
@@ -0,0 +1,75 @@
+package Managers;
+
+// Open-addressing map from a packed trigram (long) to its posting list
+// Same job as HashMap<Long, RowList> without boxing a Long on every lookup,
+// which is most of the cost of indexing a name. Linear probing, kept at most half full.
+class TrigramTable {
+
+    private long[] keys = new long[1024];
+    private RowList[] values = new RowList[1024];
+    private int size;
+
+    RowList get(long key) {
+        int mask = keys.length - 1;
+        for (int i = slot(key, mask); values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) return values[i];
+        }
+        return null;
+    }
+
+    // Posting list for key, created empty if missing
+    RowList getOrCreate(long key) {
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        for (; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) return values[i];
+        }
+
+        RowList list = new RowList();
+        keys[i] = key;
+        values[i] = list;
+        if (++size * 2 > keys.length) resize();
+        return list;
+    }
+
+    void remove(long key) {
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        while (values[i] != null && keys[i] != key) i = (i + 1) & mask;
+        if (values[i] == null) return;
+
+        // Backward-shift delete: pull later entries of the probe run into the gap
+        int gap = i;
+        for (int j = (gap + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+            int home = slot(keys[j], mask);
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+        values[gap] = null;
+        size--;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        RowList[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new RowList[oldKeys.length * 2];
+        int mask = keys.length - 1;
+
+        for (int k = 0; k < oldKeys.length; k++) {
+            if (oldValues[k] == null) continue;
+            int i = slot(oldKeys[k], mask);
+            while (values[i] != null) i = (i + 1) & mask;
+            keys[i] = oldKeys[k];
+            values[i] = oldValues[k];
+        }
+    }
+
+    private static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L; // spread the packed chars over the high bits
+        return (int) (h >>> 40) & mask;
+    }
+}
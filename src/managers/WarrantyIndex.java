@@ -0,0 +1,111 @@
+package Managers;
+
+import java.util.Arrays;
+
+// Sorted index on warrantyMonths (used by searchEquipment(int, int) and expired-warranty reports)
+// keys[] holds the distinct warranty values in ascending order, buckets[i] the rows for keys[i].
+// A range query binary-searches both ends and copies the buckets in between: O(log N + k).
+class WarrantyIndex {
+
+    private int[] keys = new int[8];
+    private RowList[] buckets = new RowList[8];
+    private int keyCount;
+
+    // warrantyMonths == 0 bucket, kept separately so expired lookups skip the search
+    private final RowList expired = new RowList();
+
+    void add(int row, int months) {
+        if (months == 0) {
+            expired.add(row);
+            return;
+        }
+
+        int pos = Arrays.binarySearch(keys, 0, keyCount, months);
+        if (pos < 0) {
+            pos = -pos - 1;
+            insertKey(pos, months);
+        }
+        buckets[pos].add(row);
+    }
+
+    void remove(int row, int months) {
+        if (months == 0) {
+            expired.remove(row);
+            return;
+        }
+
+        int pos = Arrays.binarySearch(keys, 0, keyCount, months);
+        if (pos < 0) return;
+        buckets[pos].remove(row);
+        if (buckets[pos].size == 0) removeKey(pos);
+    }
+
+    void change(int row, int oldMonths, int newMonths) {
+        if (oldMonths == newMonths) return;
+        remove(row, oldMonths);
+        add(row, newMonths);
+    }
+
+    // Rows with min <= warrantyMonths <= max, grouped by warranty ascending
+    int[] range(int min, int max) {
+        if (min > max) return new int[0];
+
+        boolean includeExpired = (min <= 0 && max >= 0);
+        int from = lowerBound(min);
+        int to = (max == Integer.MAX_VALUE) ? keyCount : lowerBound(max + 1);
+
+        // Size the result exactly before copying
+        int total = includeExpired ? expired.size : 0;
+        for (int i = from; i < to; i++) total += buckets[i].size;
+
+        int[] rows = new int[total];
+        int offset = 0;
+        int i = from;
+        for (; i < to && keys[i] < 0; i++) offset = buckets[i].copyTo(rows, offset); // negative months
+        if (includeExpired) offset = expired.copyTo(rows, offset);
+        for (; i < to; i++) offset = buckets[i].copyTo(rows, offset);
+        return rows;
+    }
+
+    // Rows with warrantyMonths == 0 (constant-time bucket read)
+    int[] expired() {
+        return Arrays.copyOf(expired.rows, expired.size);
+    }
+
+    int expiredCount() {
+        return expired.size;
+    }
+
+    // ----------------- helpers -----------------
+
+    // First key position with keys[pos] >= value
+    private int lowerBound(int value) {
+        int lo = 0;
+        int hi = keyCount;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid] < value) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private void insertKey(int pos, int months) {
+        if (keyCount == keys.length) {
+            keys = Arrays.copyOf(keys, keyCount * 2);
+            buckets = Arrays.copyOf(buckets, keyCount * 2);
+        }
+        System.arraycopy(keys, pos, keys, pos + 1, keyCount - pos);
+        System.arraycopy(buckets, pos, buckets, pos + 1, keyCount - pos);
+        keys[pos] = months;
+        buckets[pos] = new RowList();
+        keyCount++;
+    }
+
+    private void removeKey(int pos) {
+        System.arraycopy(keys, pos + 1, keys, pos, keyCount - pos - 1);
+        System.arraycopy(buckets, pos + 1, buckets, pos, keyCount - pos - 1);
+        keyCount--;
+        buckets[keyCount] = null;
+    }
+}
@@ -0,0 +1,83 @@
+package Managers;
+
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+// Shared plumbing for the report encoders: the Writer, column bookkeeping
+// and number formatting into a scratch char[] (no String per number)
+abstract class WriterSink implements ReportSink {
+
+    protected final Writer out;
+    protected String[] columns = new String[0];
+    protected int column;                       // index of the next value in the row
+
+    private final char[] digits = new char[20];
+
+    WriterSink(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void beginReport(String title, String... columns) throws IOException {
+        this.columns = columns;
+    }
+
+    @Override
+    public void beginRow() throws IOException {
+        column = 0;
+    }
+
+    @Override
+    public void endReport() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    // Same encoding for a parallel chunk: rows only (no header), written into out
+    abstract WriterSink chunkSink(Writer out);
+
+    // Appends rows encoded by a chunkSink, in report order
+    void appendRows(CharArrayWriter rows, int rowCount) throws IOException {
+        rows.writeTo(out);
+    }
+
+    protected void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            out.write(Long.toString(value));
+            return;
+        }
+        if (value < 0) {
+            out.write('-');
+            value = -value;
+        }
+        int pos = digits.length;
+        do {
+            digits[--pos] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        out.write(digits, pos, digits.length - pos);
+    }
+
+    // Fixed 2 decimal places (rates and fees)
+    protected void writeDecimal(double value) throws IOException {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            out.write(Double.toString(value));
+            return;
+        }
+        long cents = Math.round(value * 100);
+        if (cents < 0) {
+            out.write('-');
+            cents = -cents;
+        }
+        writeLong(cents / 100);
+        out.write('.');
+        long fraction = cents % 100;
+        out.write((char) ('0' + fraction / 10));
+        out.write((char) ('0' + fraction % 10));
+    }
+}
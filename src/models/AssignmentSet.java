@@ -0,0 +1,157 @@
+package models;
+
+import java.util.Arrays;
+
+// The equipment assigned to one staff member, without holes or duplicates
+//
+// Items sit at the front of a plain array. Up to SMALL of them are found by scanning at most
+// SMALL entries, so the usual 0-5 items cost one small array and no hash table (nothing at all
+// until the first assignment). Past SMALL an open-addressing table over identity hashes maps
+// each item to its array slot, so add / remove / contains stay O(1) for staff holding dozens.
+// Removing moves the last item into the gap. Items are compared by identity: the manager keeps
+// one Equipment object per asset, and identity keeps working if an assetId is renamed.
+// Not thread-safe: the InventoryManager's staff locks guard every change.
+class AssignmentSet {
+
+    private static final Equipment[] NONE = new Equipment[0];
+    private static final int SMALL = 8;
+    private static final int FIRST_CAPACITY = 5;
+
+    private Equipment[] items = NONE;
+    private int size;
+
+    // Hash table, null while size <= SMALL: keys[i] is an item, slots[i] its index in items
+    private Equipment[] keys;
+    private int[] slots;
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(Equipment equipment) {
+        return equipment != null && indexOf(equipment) >= 0;
+    }
+
+    // False if equipment is null or already in the set
+    boolean add(Equipment equipment) {
+        if (equipment == null || indexOf(equipment) >= 0) return false;
+
+        if (size == items.length) {
+            items = Arrays.copyOf(items, Math.max(FIRST_CAPACITY, size * 2));
+        }
+        items[size] = equipment;
+        size++;
+
+        if (keys != null && size * 2 <= keys.length) {
+            put(equipment, size - 1);
+        } else if (size > SMALL) {
+            rehash(Integer.highestOneBit(size) * 4); // at most half full after growing
+        }
+        return true;
+    }
+
+    // False if equipment is not in the set
+    boolean remove(Equipment equipment) {
+        int index = (equipment == null) ? -1 : indexOf(equipment);
+        if (index < 0) return false;
+
+        int last = size - 1;
+        if (keys != null) delete(equipment);
+        if (index != last) {
+            items[index] = items[last];
+            if (keys != null) slots[find(items[index])] = index;
+        }
+        size--; // shrink first: a reader never counts the slot that is cleared next
+        items[last] = null;
+        return true;
+    }
+
+    // By assetId (a scan: the manager removes by identity instead)
+    Equipment remove(String assetId) {
+        if (assetId == null) return null;
+        for (int i = 0; i < size; i++) {
+            if (assetId.equals(items[i].getAssetId())) {
+                Equipment found = items[i];
+                remove(found);
+                return found;
+            }
+        }
+        return null;
+    }
+
+    void clear() {
+        Arrays.fill(items, 0, size, null);
+        size = 0;
+        keys = null;
+        slots = null;
+    }
+
+    // Exact-size copy, never holding null
+    // Exact only under the owner's staff lock: without it (reports) the copy can still miss
+    // an item that a concurrent remove is moving into a gap.
+    Equipment[] toArray() {
+        Equipment[] current = items;
+        Equipment[] copy = Arrays.copyOf(current, Math.min(size, current.length));
+        int n = 0;
+        for (Equipment eq : copy) {
+            if (eq != null) copy[n++] = eq;
+        }
+        return (n == copy.length) ? copy : Arrays.copyOf(copy, n);
+    }
+
+    // ----------------- helpers -----------------
+
+    private int indexOf(Equipment equipment) {
+        if (keys == null) {
+            for (int i = 0; i < size; i++) {
+                if (items[i] == equipment) return i;
+            }
+            return -1;
+        }
+        int i = find(equipment);
+        return (i < 0) ? -1 : slots[i];
+    }
+
+    // Table position of equipment, -1 if absent
+    private int find(Equipment equipment) {
+        int mask = keys.length - 1;
+        for (int i = hash(equipment, mask); keys[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == equipment) return i;
+        }
+        return -1;
+    }
+
+    private void put(Equipment equipment, int index) {
+        int mask = keys.length - 1;
+        int i = hash(equipment, mask);
+        while (keys[i] != null) i = (i + 1) & mask;
+        keys[i] = equipment;
+        slots[i] = index;
+    }
+
+    // Backward-shift delete: later entries of the probe run move into the gap
+    private void delete(Equipment equipment) {
+        int mask = keys.length - 1;
+        int gap = find(equipment);
+        for (int j = (gap + 1) & mask; keys[j] != null; j = (j + 1) & mask) {
+            int home = hash(keys[j], mask);
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                slots[gap] = slots[j];
+                gap = j;
+            }
+        }
+        keys[gap] = null;
+    }
+
+    private void rehash(int capacity) {
+        keys = new Equipment[capacity];
+        slots = new int[capacity];
+        for (int i = 0; i < size; i++) put(items[i], i);
+    }
+
+    private static int hash(Equipment equipment, int mask) {
+        int h = System.identityHashCode(equipment) * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,83 @@
+package models;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Shared dictionary for string attributes with few distinct values (brand, category, ...)
+//
+// Items store an int code instead of their own String copy, so a million items with a few
+// hundred brands hold a few hundred brand Strings between them. Each distinct value gets a
+// code (encode / decode give back exactly what was stored). Each code also has a key: the
+// code of the first value with the same trimmed, case-insensitive spelling, so
+// "Dell", "DELL " and "dell" share one key and comparing attributes is an int compare.
+//
+// Codes are never reused or removed; the dictionaries only grow with new distinct values.
+// Thread-safe: lookups are lock-free, new values are added under a lock.
+public final class AttributeDictionary {
+
+    public static final int NONE = -1; // code / key of null
+
+    public static final AttributeDictionary BRANDS = new AttributeDictionary();
+    public static final AttributeDictionary CATEGORIES = new AttributeDictionary();
+    public static final AttributeDictionary MATERIALS = new AttributeDictionary();
+    public static final AttributeDictionary LAB_NAMES = new AttributeDictionary();
+    public static final AttributeDictionary DEPARTMENTS = new AttributeDictionary();
+
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private final Map<String, Integer> keys = new ConcurrentHashMap<>(); // normalized -> key code
+
+    // values[code] / keyOf[code]; replaced (never changed in place) when they grow
+    private volatile String[] values = new String[16];
+    private volatile int[] keyOf = new int[16];
+    private int size;
+
+    // Code for value, adding it if new (NONE for null)
+    public int encode(String value) {
+        if (value == null) return NONE;
+        Integer code = codes.get(value);
+        return (code != null) ? code : add(value);
+    }
+
+    public String decode(int code) {
+        return (code == NONE) ? null : values[code];
+    }
+
+    // Case-insensitive key of a code (NONE for NONE)
+    public int key(int code) {
+        return (code == NONE) ? NONE : keyOf[code];
+    }
+
+    // Key of a value without adding it: NONE if no stored value matches it
+    public int keyOf(String value) {
+        if (value == null) return NONE;
+        Integer key = keys.get(normalize(value));
+        return (key == null) ? NONE : key;
+    }
+
+    // Number of distinct values stored
+    public synchronized int size() {
+        return size;
+    }
+
+    private synchronized int add(String value) {
+        Integer existing = codes.get(value);
+        if (existing != null) return existing;
+
+        int code = size;
+        if (code == values.length) {
+            values = Arrays.copyOf(values, code * 2);
+            keyOf = Arrays.copyOf(keyOf, code * 2);
+        }
+        values[code] = value;
+        keyOf[code] = keys.computeIfAbsent(normalize(value), k -> code);
+        size++;
+        codes.put(value, code); // last: publishes the code to lock-free readers
+        return code;
+    }
+
+    static String normalize(String value) {
+        return value.trim().toUpperCase(Locale.ROOT);
+    }
+}
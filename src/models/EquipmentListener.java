@@ -0,0 +1,23 @@
+package models;
+
+// Callback so the InventoryManager can keep its indexes in sync when equipment fields change
+public interface EquipmentListener {
+
+    // Called before the asset ID changes (throw to reject the new ID)
+    void assetIdChanging(Equipment equipment, String newAssetId);
+
+    // Called after the name changes
+    void nameChanged(Equipment equipment, String oldName);
+
+    // Called after the category changes
+    void categoryChanged(Equipment equipment, String oldCategory);
+
+    // Called after warrantyMonths changes
+    void warrantyChanged(Equipment equipment, int oldMonths);
+
+    // Called after the brand changes
+    void brandChanged(Equipment equipment, String oldBrand);
+
+    // Called by the InventoryManager after the equipment left its inventory
+    void removed(Equipment equipment);
+}
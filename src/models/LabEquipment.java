@@ -1,34 +1,35 @@
-package models;
-
-public class LabEquipment extends InventoryItem {
-    private String labName;
-    private String calibrationDate;
-
-    public LabEquipment(String id, String name, boolean isAvailable, String labName, String calibrationDate) {
-        super(id, name, isAvailable);
-        this.labName = labName;
-        this.calibrationDate = calibrationDate;
-    }
-
-    @Override
-    public String getItemType() {
-        return "LabEquipment";
-    }
-
-    public String getLabName() { return labName; }
-    public void setLabName(String labName) { this.labName = labName; }
-
-    public String getCalibrationDate() { return calibrationDate; }
-    public void setCalibrationDate(String calibrationDate) { this.calibrationDate = calibrationDate; }
-
-    @Override
-    public String toString() {
-        return "LabEquipment{" +
-                "id='" + getId() + '\'' +
-                ", name='" + getName() + '\'' +
-                ", isAvailable=" + isAvailable() +
-                ", labName='" + labName + '\'' +
-                ", calibrationDate='" + calibrationDate + '\'' +
-                '}';
-    }
-}
+package models;
+
+public class LabEquipment extends InventoryItem {
+    private int labName; // code in AttributeDictionary.LAB_NAMES
+    private String calibrationDate;
+
+    public LabEquipment(String id, String name, boolean isAvailable, String labName, String calibrationDate) {
+        super(id, name, isAvailable);
+        this.labName = AttributeDictionary.LAB_NAMES.encode(labName);
+        this.calibrationDate = calibrationDate;
+    }
+
+    @Override
+    public String getItemType() {
+        return "LabEquipment";
+    }
+
+    public String getLabName() { return AttributeDictionary.LAB_NAMES.decode(labName); }
+    public void setLabName(String labName) { this.labName = AttributeDictionary.LAB_NAMES.encode(labName); }
+    public int getLabNameKey() { return AttributeDictionary.LAB_NAMES.key(labName); }
+
+    public String getCalibrationDate() { return calibrationDate; }
+    public void setCalibrationDate(String calibrationDate) { this.calibrationDate = calibrationDate; }
+
+    @Override
+    public String toString() {
+        return "LabEquipment{" +
+                "id='" + getId() + '\'' +
+                ", name='" + getName() + '\'' +
+                ", isAvailable=" + isAvailable() +
+                ", labName='" + getLabName() + '\'' +
+                ", calibrationDate='" + calibrationDate + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,18 @@
+package models;
+
+// Callback so a staff directory / department index stays current when staff details change
+public interface StaffListener {
+
+    // Called before the staff ID changes (throw to reject the new ID), holding the staff member's monitor
+    void staffIdChanging(StaffMember staff, int newStaffId);
+
+    // Called before the email changes (throw to reject the new email)
+    void emailChanging(StaffMember staff, String newEmail);
+
+    // Called after the department changes
+    void departmentChanged(StaffMember staff, String oldDepartment);
+
+    // Called after any detail changes (ID, name, email, department or role)
+    // oldStaffId is the ID before this change (the current ID unless setStaffId was called)
+    void detailsChanged(StaffMember staff, int oldStaffId);
+}
@@ -1,100 +1,140 @@
-
-package models;
-
-public class StaffMember {
-    private int staffId;
-    private String name;
-    private String email;
-    private Equipment[] assignedEquipment; // max 5
-
-    public StaffMember(int staffId, String name, String email) {
-        this.staffId = staffId;
-        this.name = name;
-        this.email = email;
-        this.assignedEquipment = new Equipment[5]; // empty array
-    }
-
-    // Getters and setters
-    public int getStaffId() {
-        return staffId;
-    }
-
-    public void setStaffId(int staffId) {
-        this.staffId = staffId;
-    }
-
-    public String getName() {
-        return name;
-    }
-
-    public void setName(String name) {
-        this.name = name;
-    }
-
-    public String getEmail() {
-        return email;
-    }
-
-    public void setEmail(String email) {
-        this.email = email;
-    }
-
-    public Equipment[] getAssignedEquipment() {
-        return assignedEquipment;
-    }
-
-    public void setAssignedEquipment(Equipment[] assignedEquipment) {
-        // Keep it simple for Task 1 (later we can improve this)
-        this.assignedEquipment = assignedEquipment;
-    }
-
-    // Adds equipment to the assignedEquipment array (first empty slot)
-    public void addAssignedEquipment(Equipment equipment) {
-        if (equipment == null) return;
-
-        // Prevent duplicates by assetId
-        for (Equipment eq : assignedEquipment) {
-            if (eq != null && eq.equals(equipment)) {
-                return; // already assigned
-            }
-        }
-
-        // Find an empty slot
-        for (int i = 0; i < assignedEquipment.length; i++) {
-            if (assignedEquipment[i] == null) {
-                assignedEquipment[i] = equipment;
-                return;
-            }
-        }
-
-        // If we reach here, array is full (max 5)
-        // For Task 1 we just stop. Later Task 3 you’ll throw AssignmentLimitExceededException here.
-    }
-
-    // Removes equipment by assetId and shifts array left to keep it tidy
-    public void removeAssignedEquipment(String assetId) {
-        if (assetId == null) return;
-
-        for (int i = 0; i < assignedEquipment.length; i++) {
-            if (assignedEquipment[i] != null && assetId.equals(assignedEquipment[i].getAssetId())) {
-                assignedEquipment[i] = null;
-
-                // shift left so no gaps in the middle
-                for (int j = i; j < assignedEquipment.length - 1; j++) {
-                    assignedEquipment[j] = assignedEquipment[j + 1];
-                    assignedEquipment[j + 1] = null;
-                }
-                return;
-            }
-        }
-    }
-
-    // Returns how many are currently assigned
-    public int getAssignedEquipmentCount() {
-        int count = 0;
-        for (Equipment eq : assignedEquipment) {
-            if (eq != null) count++;
-        }
-        return count;
-    }
-}
+
+package models;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class StaffMember {
+    private static final AtomicInteger NEXT_SEQUENCE = new AtomicInteger();
+
+    // Fixed at construction, unlike staffId: the InventoryManager picks this member's lock from it
+    private final int sequence = NEXT_SEQUENCE.getAndIncrement();
+    private int staffId;
+    private String name;
+    private String email;
+    private int department = AttributeDictionary.NONE; // code in AttributeDictionary.DEPARTMENTS
+    private StaffRole role = StaffRole.STAFF;
+    private final AssignmentSet assigned = new AssignmentSet();
+
+    // Set by the StaffDirectory / DepartmentIndex that holds this staff member (null when not indexed)
+    private StaffListener listener;
+
+    public StaffMember(int staffId, String name, String email) {
+        this.staffId = staffId;
+        this.name = name;
+        this.email = email;
+    }
+
+    public int getSequence() {
+        return sequence;
+    }
+
+    // Getters and setters
+    public int getStaffId() {
+        return staffId;
+    }
+
+    // Changed under this member's monitor, which the InventoryManager also holds while it logs an
+    // assignment or return under the staffId: none can reach the journal under the new ID ahead
+    // of the change itself
+    public void setStaffId(int staffId) {
+        int oldStaffId;
+        synchronized (this) {
+            oldStaffId = this.staffId;
+            if (listener != null) listener.staffIdChanging(this, staffId); // directory rejects a taken ID
+            this.staffId = staffId;
+        }
+        if (listener != null) listener.detailsChanged(this, oldStaffId);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+        if (listener != null) listener.detailsChanged(this, staffId);
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        if (listener != null) listener.emailChanging(this, email); // directory rejects a taken email
+        this.email = email;
+        if (listener != null) listener.detailsChanged(this, staffId);
+    }
+
+    public String getDepartment() {
+        return AttributeDictionary.DEPARTMENTS.decode(department);
+    }
+
+    // Case-insensitive key (AttributeDictionary.key): equal keys = same department
+    public int getDepartmentKey() {
+        return AttributeDictionary.DEPARTMENTS.key(department);
+    }
+
+    public void setDepartment(String department) {
+        String oldDepartment = getDepartment();
+        this.department = AttributeDictionary.DEPARTMENTS.encode(department);
+        if (listener != null) {
+            listener.departmentChanged(this, oldDepartment); // keep department index in sync
+            listener.detailsChanged(this, staffId);
+        }
+    }
+
+    public StaffListener getListener() {
+        return listener;
+    }
+
+    public void setListener(StaffListener listener) {
+        this.listener = listener;
+    }
+
+    public StaffRole getRole() {
+        return role;
+    }
+
+    // Decides the assignment limit (null = plain STAFF)
+    public void setRole(StaffRole role) {
+        this.role = (role == null) ? StaffRole.STAFF : role;
+        if (listener != null) listener.detailsChanged(this, staffId);
+    }
+
+    // Copy of the assigned equipment (no empty slots)
+    public Equipment[] getAssignedEquipment() {
+        return assigned.toArray();
+    }
+
+    public void setAssignedEquipment(Equipment[] assignedEquipment) {
+        assigned.clear();
+        for (Equipment eq : assignedEquipment) {
+            assigned.add(eq); // skips nulls and duplicates
+        }
+    }
+
+    // Adds equipment unless it is already assigned (the limit is checked by the InventoryManager)
+    public void addAssignedEquipment(Equipment equipment) {
+        assigned.add(equipment);
+    }
+
+    // Removes equipment by assetId
+    public void removeAssignedEquipment(String assetId) {
+        assigned.remove(assetId);
+    }
+
+    // Removes this exact equipment (constant time)
+    public void removeAssignedEquipment(Equipment equipment) {
+        assigned.remove(equipment);
+    }
+
+    // True if this exact equipment is assigned (constant time)
+    public boolean hasAssignedEquipment(Equipment equipment) {
+        return assigned.contains(equipment);
+    }
+
+    // Returns how many are currently assigned
+    public int getAssignedEquipmentCount() {
+        return assigned.size();
+    }
+}
@@ -0,0 +1,31 @@
+package models;
+
+import java.util.Locale;
+
+// Kind of staff member, for assignment limits
+// The limits below are only defaults: InventoryManager.setAssignmentLimit overrides them.
+public enum StaffRole {
+    STAFF(5),
+    RESEARCH_LEAD(50);
+
+    private final int defaultLimit;
+
+    StaffRole(int defaultLimit) {
+        this.defaultLimit = defaultLimit;
+    }
+
+    // Most items a member of this role may hold unless configured otherwise
+    public int getDefaultLimit() {
+        return defaultLimit;
+    }
+
+    // Case-insensitive name ("research_lead", "Research-Lead"); null if not a role
+    public static StaffRole parse(String name) {
+        if (name == null) return null;
+        String key = name.trim().replace('-', '_').toUpperCase(Locale.ROOT);
+        for (StaffRole role : values()) {
+            if (role.name().equals(key)) return role;
+        }
+        return null;
+    }
+}
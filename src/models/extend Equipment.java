@@ -1,59 +1,101 @@
-package models;
-
-import java.util.Objects;
-
-public class Equipment extends InventoryItem {
-    private String brand;
-    private String assetId;
-    private int warrantyMonths;
-
-    public Equipment(String assetId, String name, boolean isAvailable, String brand, int warrantyMonths) {
-        super(assetId, name, isAvailable); // id = assetId (simple and consistent)
-        this.assetId = assetId;
-        this.brand = brand;
-        this.warrantyMonths = warrantyMonths;
-    }
-
-    @Override
-    public String getItemType() {
-        return "Equipment";
-    }
-
-    public String getBrand() { return brand; }
-    public void setBrand(String brand) { this.brand = brand; }
-
-    public String getAssetId() { return assetId; }
-    public void setAssetId(String assetId) {
-        this.assetId = assetId;
-        setId(assetId); // keep base id in sync
-    }
-
-    public int getWarrantyMonths() { return warrantyMonths; }
-    public void setWarrantyMonths(int warrantyMonths) { this.warrantyMonths = warrantyMonths; }
-
-    @Override
-    public String toString() {
-        return "Equipment{" +
-                "id='" + getId() + '\'' +
-                ", name='" + getName() + '\'' +
-                ", isAvailable=" + isAvailable() +
-                ", assetId='" + assetId + '\'' +
-                ", brand='" + brand + '\'' +
-                ", warrantyMonths=" + warrantyMonths +
-                '}';
-    }
-
-    // compare equipment by assetId
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (!(o instanceof Equipment)) return false;
-        Equipment that = (Equipment) o;
-        return Objects.equals(assetId, that.assetId);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(assetId);
-    }
-}
+package models;
+
+import java.util.Objects;
+
+public class Equipment extends InventoryItem {
+    // brand and category are codes in the shared AttributeDictionary (no String per item)
+    private int brand;
+    private String assetId;
+    private int warrantyMonths;
+    private int category = AttributeDictionary.NONE; // IT / LAB / AV / OTHER
+
+    // Set by the InventoryManager that holds this item (null when not in an inventory)
+    private EquipmentListener listener;
+
+    public Equipment(String assetId, String name, boolean isAvailable, String brand, int warrantyMonths) {
+        super(assetId, name, isAvailable); // id = assetId (simple and consistent)
+        this.assetId = assetId;
+        this.brand = AttributeDictionary.BRANDS.encode(brand);
+        this.warrantyMonths = warrantyMonths;
+    }
+
+    public Equipment(String assetId, String name, boolean isAvailable, String brand, int warrantyMonths, String category) {
+        this(assetId, name, isAvailable, brand, warrantyMonths);
+        this.category = AttributeDictionary.CATEGORIES.encode(category);
+    }
+
+    @Override
+    public String getItemType() {
+        return "Equipment";
+    }
+
+    // Overridden so the manager's name index sees renames
+    @Override
+    public void setName(String name) {
+        String oldName = getName();
+        super.setName(name);
+        if (listener != null) listener.nameChanged(this, oldName);
+    }
+
+    public String getBrand() { return AttributeDictionary.BRANDS.decode(brand); }
+    public void setBrand(String brand) {
+        String oldBrand = getBrand();
+        this.brand = AttributeDictionary.BRANDS.encode(brand);
+        if (listener != null) listener.brandChanged(this, oldBrand);
+    }
+
+    public String getAssetId() { return assetId; }
+    public void setAssetId(String assetId) {
+        if (listener != null) listener.assetIdChanging(this, assetId); // keep asset index in sync
+        this.assetId = assetId;
+        setId(assetId); // keep base id in sync
+    }
+
+    public int getWarrantyMonths() { return warrantyMonths; }
+    public void setWarrantyMonths(int warrantyMonths) {
+        int oldMonths = this.warrantyMonths;
+        this.warrantyMonths = warrantyMonths;
+        if (listener != null) listener.warrantyChanged(this, oldMonths); // keep warranty index sorted
+    }
+
+    public String getCategory() { return AttributeDictionary.CATEGORIES.decode(category); }
+    public void setCategory(String category) {
+        String oldCategory = getCategory();
+        this.category = AttributeDictionary.CATEGORIES.encode(category);
+        if (listener != null) listener.categoryChanged(this, oldCategory);
+    }
+
+    // Case-insensitive keys (AttributeDictionary.key): equal keys = same brand / category
+    public int getBrandKey() { return AttributeDictionary.BRANDS.key(brand); }
+    public int getCategoryKey() { return AttributeDictionary.CATEGORIES.key(category); }
+
+    public EquipmentListener getListener() { return listener; }
+    public void setListener(EquipmentListener listener) { this.listener = listener; }
+
+    @Override
+    public String toString() {
+        return "Equipment{" +
+                "id='" + getId() + '\'' +
+                ", name='" + getName() + '\'' +
+                ", isAvailable=" + isAvailable() +
+                ", assetId='" + assetId + '\'' +
+                ", brand='" + getBrand() + '\'' +
+                ", warrantyMonths=" + warrantyMonths +
+                ", category='" + getCategory() + '\'' +
+                '}';
+    }
+
+    // compare equipment by assetId
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Equipment)) return false;
+        Equipment that = (Equipment) o;
+        return Objects.equals(assetId, that.assetId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(assetId);
+    }
+}